@@ -0,0 +1,73 @@
+package com.alura.forumhub.controller;
+
+import com.alura.forumhub.domain.curso.Curso;
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.topico.arquivo.DadosRespostaArquivada;
+import com.alura.forumhub.domain.topico.arquivo.DadosTopicoArquivado;
+import com.alura.forumhub.domain.topico.arquivo.RespostaArquivadaRepository;
+import com.alura.forumhub.domain.topico.arquivo.TopicoArquivadoRepository;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+
+// Leitura de tópicos arquivados: caminho lento, fora das tabelas quentes. O arquivo guarda só ids,
+// então autores e curso são resolvidos aqui (uma consulta para todos os autores)
+@RestController
+@RequestMapping("/admin/arquivo")
+@SecurityRequirement(name = "bearer-key")
+public class ArquivoController {
+
+    @Autowired
+    private TopicoArquivadoRepository topicoArquivadoRepository;
+
+    @Autowired
+    private RespostaArquivadaRepository respostaArquivadaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Transactional(readOnly = true)
+    @GetMapping("/topicos/{id}")
+    public ResponseEntity<DadosTopicoArquivado> detalhar(@PathVariable Long id) {
+        var topico = topicoArquivadoRepository.findById(id);
+        if (topico.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        var arquivado = topico.get();
+        var respostas = respostaArquivadaRepository.findByTopicoIdOrderBySolucaoDescDataCriacaoAscIdAsc(id);
+
+        var autores = new HashSet<Long>();
+        autores.add(arquivado.getAutorId());
+        respostas.forEach(r -> autores.add(r.getAutorId()));
+        var nomes = new HashMap<Long, String>();
+        usuarioRepository.findAllById(autores).forEach(u -> nomes.put(u.getId(), u.getNome()));
+
+        var curso = cursoRepository.findById(arquivado.getCursoId()).map(Curso::getCategoria).orElse(null);
+
+        return ResponseEntity.ok(new DadosTopicoArquivado(
+                arquivado.getId(),
+                arquivado.getTitulo(),
+                arquivado.getMensagem(),
+                nomes.get(arquivado.getAutorId()),
+                curso,
+                arquivado.getDataCriacao(),
+                arquivado.getStatus().name(),
+                arquivado.getDataExclusao(),
+                arquivado.getArquivadoEm(),
+                respostas.stream()
+                        .map(r -> new DadosRespostaArquivada(
+                                r.getId(), r.getMensagem(), nomes.get(r.getAutorId()), r.getSolucao(), r.getDataCriacao()))
+                        .toList()
+        ));
+    }
+}
@@ -3,6 +3,7 @@ package com.alura.forumhub.controller;
 import com.alura.forumhub.domain.usuario.DadosAutenticacao;
 import com.alura.forumhub.domain.usuario.Usuario;
 import com.alura.forumhub.infra.security.DadosTokenJWT;
+import com.alura.forumhub.infra.security.HashSenhaSobrecarregadoException;
 import com.alura.forumhub.infra.security.TokenService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +30,8 @@ public class AutenticacaoController {
             var authentication = manager.authenticate(authToken);
             var tokenJWT = tokenService.gerarToken((Usuario) authentication.getPrincipal());
             return ResponseEntity.ok(new DadosTokenJWT(tokenJWT));
+        } catch (HashSenhaSobrecarregadoException e) {
+            throw e; // vira 429 no TratadorDeErros
         } catch (Exception e) {
             return ResponseEntity.status(403).body("Erro: " + e.getMessage());
         }
@@ -0,0 +1,107 @@
+package com.alura.forumhub.controller;
+
+import com.alura.forumhub.domain.exportacao.ExportadorForum;
+import com.alura.forumhub.domain.exportacao.FiltroExportacao;
+import com.alura.forumhub.domain.exportacao.FormatoExportacao;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/admin/export")
+@SecurityRequirement(name = "bearer-key")
+public class ExportacaoController {
+
+    private static final int BUFFER_GZIP = 64 * 1024;
+
+    @Autowired
+    private ExportadorForum exportadorForum;
+
+    @GetMapping("/topicos")
+    public ResponseEntity<StreamingResponseBody> exportarTopicos(
+            @RequestParam(required = false) String curso,
+            @RequestParam(required = false) Integer ano,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var filtro = new FiltroExportacao(curso, ano, ativo);
+        var tipo = FormatoExportacao.de(formato);
+        return exportar("topicos", tipo, acceptEncoding,
+                saida -> exportadorForum.exportarTopicos(filtro, tipo, saida));
+    }
+
+    @GetMapping("/respostas")
+    public ResponseEntity<StreamingResponseBody> exportarRespostas(
+            @RequestParam(required = false) String curso,
+            @RequestParam(required = false) Integer ano,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var filtro = new FiltroExportacao(curso, ano, ativo);
+        var tipo = FormatoExportacao.de(formato);
+        return exportar("respostas", tipo, acceptEncoding,
+                saida -> exportadorForum.exportarRespostas(filtro, tipo, saida));
+    }
+
+    // O corpo é escrito fora da thread da requisição; com Accept-Encoding: gzip a compressão é feita aqui mesmo
+    private ResponseEntity<StreamingResponseBody> exportar(String nome, FormatoExportacao formato,
+                                                           String acceptEncoding, StreamingResponseBody corpo) {
+        var resposta = ResponseEntity.ok()
+                .contentType(formato.tipoConteudo())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(nome + "." + formato.extensao())
+                        .build()
+                        .toString());
+
+        if (!aceitaGzip(acceptEncoding)) {
+            return resposta.body(corpo);
+        }
+
+        return resposta
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(saida -> {
+                    var compactada = new GZIPOutputStream(saida, BUFFER_GZIP);
+                    corpo.writeTo(compactada);
+                    compactada.finish();
+                });
+    }
+
+    // Respeita q-values: "gzip;q=0" recusa, e "*" vale para gzip quando ele não aparece explicitamente
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double curinga = null;
+        for (var item : acceptEncoding.split(",")) {
+            var partes = item.split(";");
+            var codificacao = partes[0].trim();
+            var q = 1.0;
+            for (int i = 1; i < partes.length; i++) {
+                var parametro = partes[i].trim();
+                if (parametro.startsWith("q=") || parametro.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+
+            if (codificacao.equalsIgnoreCase("gzip") || codificacao.equalsIgnoreCase("x-gzip")) {
+                return q > 0;
+            }
+            if (codificacao.equals("*")) {
+                curinga = q;
+            }
+        }
+        return curinga != null && curinga > 0;
+    }
+}
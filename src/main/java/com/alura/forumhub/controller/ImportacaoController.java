@@ -0,0 +1,44 @@
+package com.alura.forumhub.controller;
+
+import com.alura.forumhub.domain.importacao.DadosImportacao;
+import com.alura.forumhub.domain.importacao.ImportacaoRepository;
+import com.alura.forumhub.domain.importacao.ImportadorForum;
+import com.alura.forumhub.domain.importacao.StatusImportacao;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/admin/import")
+@SecurityRequirement(name = "bearer-key")
+public class ImportacaoController {
+
+    @Autowired
+    private ImportadorForum importadorForum;
+
+    @Autowired
+    private ImportacaoRepository importacaoRepository;
+
+    // O corpo é lido em streaming; ?importacao={id} retoma uma importação interrompida a partir do último lote gravado
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<DadosImportacao> importar(
+            InputStream corpo,
+            @RequestParam(required = false) Long importacao) {
+        var resultado = importadorForum.importar(corpo, importacao);
+        if (resultado.status() == StatusImportacao.FALHOU) {
+            return ResponseEntity.unprocessableEntity().body(resultado);
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DadosImportacao> detalhar(@PathVariable Long id) {
+        var importacao = importacaoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Importação não encontrada."));
+        return ResponseEntity.ok(new DadosImportacao(importacao));
+    }
+}
@@ -1,11 +1,17 @@
 package com.alura.forumhub.controller;
 
+import com.alura.forumhub.domain.DadosPaginaCursor;
 import com.alura.forumhub.domain.resposta.*;
 import com.alura.forumhub.domain.topico.TopicoRepository;
 import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import com.alura.forumhub.infra.http.ETagVersao;
+import com.alura.forumhub.infra.paginacao.CursorPaginacao;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +33,9 @@ public class RespostaController {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @PostMapping
     @Transactional
     public ResponseEntity<DadosDetalhamentoResposta> cadastrar(
@@ -47,6 +56,9 @@ public class RespostaController {
                 .build();
 
         respostaRepository.save(resposta);
+        topicoRepository.incrementarRespostas(topico.getId(), resposta.getDataCriacao());
+        eventPublisher.publishEvent(new RespostaCadastradaEvento(
+                resposta.getId(), topico.getId(), topico.getCurso().getCategoria(), topico.getAtivo()));
 
         var uri = uriBuilder.path("/respostas/{id}")
                 .buildAndExpand(resposta.getId())
@@ -64,20 +76,43 @@ public class RespostaController {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<Page<DadosListagemResposta>> listar(Pageable pageable) {
-        var page = respostaRepository.findAll(pageable)
-                .map(r -> new DadosListagemResposta(
-                        r.getId(),
-                        r.getMensagem(),
-                        r.getAutor().getNome(),
-                        r.getSolucao()
-                ));
-        return ResponseEntity.ok(page);
+        var page = respostaRepository.findListagem(pageable);
+        var etag = ETagVersao.fraca(page.getContent(), page.getTotalElements(),
+                DadosListagemResposta::id, DadosListagemResposta::versao);
+        return ResponseEntity.ok().eTag(etag).body(page);
     }
 
+    @Transactional(readOnly = true)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<DadosPaginaCursor<DadosListagemResposta>> listarPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size) {
+        var tamanho = CursorPaginacao.tamanho(size);
+        var respostas = respostaRepository.findListagemAposId(
+                CursorPaginacao.decodificarId(cursor), CursorPaginacao.limite(tamanho));
+
+        return ResponseEntity.ok(DadosPaginaCursor.de(respostas, tamanho,
+                r -> CursorPaginacao.codificar(r.id())));
+    }
+
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public ResponseEntity<DadosDetalhamentoResposta> detalhar(@PathVariable Long id) {
+    public ResponseEntity<DadosDetalhamentoResposta> detalhar(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (ifNoneMatch != null) {
+            var versao = respostaRepository.findVersaoById(id)
+                    .orElseThrow(() -> new RuntimeException("Resposta não encontrada."));
+            var etag = ETagVersao.forte(versao);
+            if (ETagVersao.correspondeNaoModificado(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
         var resposta = respostaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Resposta não encontrada."));
 
@@ -90,22 +125,33 @@ public class RespostaController {
                 resposta.getDataCriacao().toString()
         );
 
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok().eTag(ETagVersao.forte(resposta.getVersao())).body(dto);
     }
 
     @PutMapping("/{id}")
     @Transactional
     public ResponseEntity<DadosDetalhamentoResposta> atualizar(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid DadosAtualizacaoResposta dados) {
 
         var resposta = respostaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Resposta não encontrada."));
 
+        if (!ETagVersao.atendePreCondicao(ifMatch, resposta.getVersao())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
         resposta.setMensagem(dados.mensagem());
+        var solucaoAlterada = dados.solucao() != null && !dados.solucao().equals(resposta.getSolucao());
         if (dados.solucao() != null) {
             resposta.setSolucao(dados.solucao());
         }
+        respostaRepository.flush();
+        if (solucaoAlterada) {
+            eventPublisher.publishEvent(new RespostaMarcadaComoSolucaoEvento(
+                    resposta.getId(), resposta.getTopico().getId(), resposta.getSolucao()));
+        }
 
         var dto = new DadosDetalhamentoResposta(
                 resposta.getId(),
@@ -116,16 +162,21 @@ public class RespostaController {
                 resposta.getDataCriacao().toString()
         );
 
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok().eTag(ETagVersao.forte(resposta.getVersao())).body(dto);
     }
 
     @DeleteMapping("/{id}")
     @Transactional
     public ResponseEntity<Void> excluir(@PathVariable Long id) {
-        if (!respostaRepository.existsById(id)) {
+        var resposta = respostaRepository.findById(id);
+        if (resposta.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        respostaRepository.deleteById(id);
+        var topico = resposta.get().getTopico();
+        respostaRepository.delete(resposta.get());
+        topicoRepository.decrementarRespostas(topico.getId());
+        eventPublisher.publishEvent(new RespostaExcluidaEvento(
+                id, topico.getId(), topico.getCurso().getCategoria(), topico.getAtivo()));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -1,15 +1,31 @@
 package com.alura.forumhub.controller;
 
+import com.alura.forumhub.domain.DadosPaginaCursor;
+import com.alura.forumhub.domain.ValidacaoException;
+import com.alura.forumhub.domain.curso.CatalogoCursos;
 import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.DadosListagemRespostaTopico;
 import com.alura.forumhub.domain.resposta.RespostaRepository;
 import com.alura.forumhub.domain.topico.*;
+import com.alura.forumhub.domain.topico.busca.IndiceBuscaTopicos;
+import com.alura.forumhub.domain.topico.estatisticas.EstatisticasTopicos;
 import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import com.alura.forumhub.infra.http.ETagVersao;
+import com.alura.forumhub.infra.paginacao.CursorPaginacao;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -17,7 +33,11 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/topicos")
@@ -37,11 +57,32 @@ public class TopicoController {
     @Autowired
     private RespostaRepository respostaRepository;
 
+    @Autowired
+    private EstatisticasTopicos estatisticasTopicos;
+
+    @Autowired
+    private IndiceBuscaTopicos indiceBuscaTopicos;
+
+    @Autowired
+    private DetectorTopicosDuplicados detectorTopicosDuplicados;
+
+    @Autowired
+    private CacheDetalhesTopicos cacheDetalhesTopicos;
+
+    @Autowired
+    private CatalogoCursos catalogoCursos;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final String MENSAGEM_DUPLICADO = "Já existe um tópico com esse título e mensagem.";
+
     @PostMapping
     @Transactional
     public ResponseEntity<?> cadastrar(@RequestBody @Valid DadosCadastroTopico dados, UriComponentsBuilder uriBuilder) {
-        if (topicoRepository.existsByTituloAndMensagem(dados.titulo(), dados.mensagem())) {
-            return ResponseEntity.badRequest().body("Já existe um tópico com esse título e mensagem.");
+        var hash = ConteudoTopico.hash(dados.titulo(), dados.mensagem());
+        if (detectorTopicosDuplicados.talvezExista(hash) && topicoRepository.existsByHashConteudo(hash)) {
+            return ResponseEntity.badRequest().body(MENSAGEM_DUPLICADO);
         }
 
         var autor = usuarioRepository.findById(dados.autorId())
@@ -50,51 +91,208 @@ public class TopicoController {
                 .orElseThrow(() -> new RuntimeException("Curso não encontrado."));
 
         var topico = new Topico(dados, autor, curso);
-        topicoRepository.save(topico);
+        salvarSemDuplicidade(topico);
+        eventPublisher.publishEvent(new TopicoCadastradoEvento(
+                topico.getId(), topico.getTitulo(), topico.getMensagem(), curso.getCategoria(), topico.getDataCriacao()));
 
         var uri = uriBuilder.path("/topicos/{id}").buildAndExpand(topico.getId()).toUri();
         return ResponseEntity.created(uri).body(new DadosDetalhamentoTopico(topico));
     }
 
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<Page<DadosListagemTopico>> listar(
             @RequestParam(required = false) String curso,
             @RequestParam(required = false) Integer ano,
             @PageableDefault(size = 10, sort = "dataCriacao") Pageable paginacao
     ) {
-        Page<Topico> topicos;
+        Page<DadosListagemTopico> page;
 
         if (curso != null && ano != null) {
-            LocalDateTime inicio = LocalDateTime.of(ano, 1, 1, 0, 0);
-            LocalDateTime fim = LocalDateTime.of(ano, 12, 31, 23, 59);
-            topicos = topicoRepository.findByCursoNomeAndDataCriacaoBetweenAndAtivoTrue(curso, inicio, fim, paginacao);
+            var inicio = LocalDateTime.of(ano, 1, 1, 0, 0);
+            var resumo = catalogoCursos.buscarPorNome(curso);
+            if (resumo.isPresent()) {
+                var categoria = resumo.get().categoria();
+                page = topicoRepository.findListagemByCursoIdAndPeriodo(
+                                resumo.get().id(), inicio, inicio.plusYears(1), paginacao)
+                        .map(t -> t.comCurso(categoria));
+            } else {
+                page = Page.empty(paginacao);
+            }
         } else {
-            topicos = topicoRepository.findByAtivoTrue(paginacao);
+            page = topicoRepository.findListagemByAtivoTrue(paginacao);
+        }
+
+        // Com ETag na resposta, o Spring devolve 304 sozinho quando o If-None-Match casa
+        return ResponseEntity.ok()
+                .eTag(ETagVersao.fraca(page.getContent(), page.getTotalElements(),
+                        DadosListagemTopico::id, DadosListagemTopico::versao, DadosListagemTopico::respostas))
+                .body(page);
+    }
+
+    @Transactional(readOnly = true)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<DadosPaginaCursor<DadosListagemTopico>> listarPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(required = false) String curso,
+            @RequestParam(required = false) Integer ano,
+            @RequestParam(required = false) Integer size
+    ) {
+        var tamanho = CursorPaginacao.tamanho(size);
+        List<DadosListagemTopico> topicos;
+
+        if (curso != null || ano != null) {
+            topicos = listarPorCursoECursor(cursor, curso, ano, tamanho);
+        } else if (cursor.isBlank()) {
+            topicos = topicoRepository.findListagemAtivosPorCursor(CursorPaginacao.limite(tamanho));
+        } else {
+            var posicao = CursorPaginacao.decodificarDataId(cursor);
+            topicos = topicoRepository.findListagemAtivosAposCursor(
+                    posicao.data(), posicao.id(), CursorPaginacao.limite(tamanho));
+        }
+
+        return ResponseEntity.ok(DadosPaginaCursor.de(topicos, tamanho,
+                t -> CursorPaginacao.codificar(t.dataCriacao(), t.id())));
+    }
+
+    // O cursor guarda só (dataCriacao, id): curso e ano precisam ser repetidos em todas as páginas
+    private List<DadosListagemTopico> listarPorCursoECursor(String cursor, String curso, Integer ano, int tamanho) {
+        if (curso == null || ano == null) {
+            throw new ValidacaoException("Informe curso e ano juntos.");
+        }
+
+        var resumo = catalogoCursos.buscarPorNome(curso);
+        if (resumo.isEmpty()) {
+            return List.of();
+        }
+
+        var inicio = LocalDateTime.of(ano, 1, 1, 0, 0);
+        var posicao = cursor.isBlank()
+                ? new CursorPaginacao.DataId(inicio, 0L)
+                : CursorPaginacao.decodificarDataId(cursor);
+        var categoria = resumo.get().categoria();
+        return topicoRepository.findListagemByCursoIdAposCursor(resumo.get().id(), posicao.data(), posicao.id(),
+                        inicio.plusYears(1), CursorPaginacao.limite(tamanho))
+                .stream()
+                .map(t -> t.comCurso(categoria))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    @GetMapping("/busca")
+    public ResponseEntity<List<DadosListagemTopico>> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limite
+    ) {
+        var resultados = indiceBuscaTopicos.buscar(q, Math.max(1, Math.min(limite, 100)));
+        if (resultados.isEmpty()) {
+            return ResponseEntity.ok(List.of());
         }
 
-        var page = topicos.map(DadosListagemTopico::new);
-        return ResponseEntity.ok(page);
+        var posicoes = new HashMap<Long, Integer>();
+        for (int i = 0; i < resultados.size(); i++) {
+            posicoes.put(resultados.get(i).id(), i);
+        }
+
+        var topicos = new ArrayList<>(topicoRepository.findListagemByIdIn(posicoes.keySet()));
+        topicos.sort(Comparator.comparing(t -> posicoes.get(t.id())));
+        return ResponseEntity.ok(topicos);
     }
 
+    // Sem @Transactional: um acerto no cache de detalhes não abre transação nem conexão
     @GetMapping("/{id}")
-    public ResponseEntity<DadosDetalhamentoTopico> detalhar(@PathVariable Long id) {
+    public ResponseEntity<?> detalhar(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        var emCache = cacheDetalhesTopicos.buscar(id);
+        if (emCache != null) {
+            var etag = ETagVersao.forte(emCache.versao());
+            if (ETagVersao.correspondeNaoModificado(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(emCache.json());
+        }
+
+        var geracao = cacheDetalhesTopicos.geracao();
+        if (ifNoneMatch != null) {
+            var versao = topicoRepository.findVersaoByIdAndAtivoTrue(id)
+                    .orElseThrow(() -> new RuntimeException("Tópico não encontrado ou foi excluído."));
+            var etag = ETagVersao.forte(versao);
+            if (ETagVersao.correspondeNaoModificado(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
         var topico = topicoRepository.findByIdAndAtivoTrue(id)
                 .orElseThrow(() -> new RuntimeException("Tópico não encontrado ou foi excluído."));
+        var dados = new DadosDetalhamentoTopico(topico);
+        cacheDetalhesTopicos.guardar(id, topico.getVersao(), dados, geracao);
 
-        return ResponseEntity.ok(new DadosDetalhamentoTopico(topico));
+        return ResponseEntity.ok()
+                .eTag(ETagVersao.forte(topico.getVersao()))
+                .body(dados);
+    }
+
+    // Keyset sobre (solucao desc, data_criacao, id): uma consulta por página, mais uma quando a página passa
+    // das soluções para as demais respostas; outra só confirma que o tópico existe quando a página vem vazia
+    @Transactional(readOnly = true)
+    @GetMapping("/{id}/respostas")
+    public ResponseEntity<DadosPaginaCursor<DadosListagemRespostaTopico>> listarRespostas(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        var tamanho = CursorPaginacao.tamanho(size);
+        List<DadosListagemRespostaTopico> respostas;
+
+        if (cursor == null || cursor.isBlank()) {
+            respostas = respostaRepository.findListagemPorTopico(id, CursorPaginacao.limite(tamanho));
+        } else {
+            var posicao = CursorPaginacao.decodificarSolucaoDataId(cursor);
+            var limite = CursorPaginacao.limite(tamanho);
+            respostas = respostaRepository.findListagemPorTopicoAposCursor(
+                    id, posicao.solucao(), posicao.data(), posicao.id(), limite);
+            // A página terminou as soluções: completa com o início das demais respostas
+            if (posicao.solucao() && respostas.size() < limite.max()) {
+                respostas = new ArrayList<>(respostas);
+                respostas.addAll(respostaRepository.findListagemPorTopicoAposCursor(
+                        id, false, CursorPaginacao.DATA_INICIAL, 0L, Limit.of(limite.max() - respostas.size())));
+            }
+        }
+
+        if (respostas.isEmpty() && topicoRepository.findVersaoByIdAndAtivoTrue(id).isEmpty()) {
+            throw new RuntimeException("Tópico não encontrado ou foi excluído.");
+        }
+
+        return ResponseEntity.ok(DadosPaginaCursor.de(respostas, tamanho,
+                r -> CursorPaginacao.codificar(r.solucao(), r.dataCriacao(), r.id())));
     }
 
     @PutMapping("/{id}")
     @Transactional
     public ResponseEntity<DadosDetalhamentoTopico> atualizar(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid DadosAtualizacaoTopico dados
     ) {
         var topico = topicoRepository.findByIdAndAtivoTrue(id)
                 .orElseThrow(() -> new RuntimeException("Tópico não encontrado ou foi excluído."));
 
+        // Alterações concorrentes depois desta checagem são barradas pelo @Version no flush
+        if (!ETagVersao.atendePreCondicao(ifMatch, topico.getVersao())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
         topico.atualizarInformacoes(dados);
-        return ResponseEntity.ok(new DadosDetalhamentoTopico(topico));
+        salvarSemDuplicidade(topico);
+        eventPublisher.publishEvent(new TopicoAtualizadoEvento(topico.getId(), topico.getTitulo(), topico.getMensagem()));
+        return ResponseEntity.ok()
+                .eTag(ETagVersao.forte(topico.getVersao()))
+                .body(new DadosDetalhamentoTopico(topico));
     }
 
     @DeleteMapping("/{id}")
@@ -104,25 +302,44 @@ public class TopicoController {
                 .orElseThrow(() -> new RuntimeException("Tópico não encontrado ou já foi excluído."));
 
         topico.excluir();
+        // O contador da entidade foi lido antes; respostas podem ter chegado desde então. A consulta força o
+        // flush do UPDATE, que trava a linha, e lê o contador já com as respostas confirmadas até aqui
+        var respostas = topicoRepository.findRespostasCountById(id);
+        eventPublisher.publishEvent(new TopicoExcluidoEvento(
+                topico.getId(), topico.getCurso().getCategoria(), topico.getDataCriacao(), respostas));
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/stats")
-    public List<DadosEstatisticosTopicos> stats() {
-        LocalDateTime semanaPassada = LocalDateTime.now().minusWeeks(1);
-        List<DadosEstatisticosTopicos> lista = new ArrayList<>();
-
-        for (String curso : List.of("Mobile", "BackEnd", "FrontEnd", "UX & Design")) {
-            long total     = topicoRepository.countByCursoCategoria(curso);
-            long ultSemana = topicoRepository
-                    .countByCursoCategoriaAndDataCriacaoAfter(curso, semanaPassada);
-            long respostas = respostaRepository.countByTopicoCursoCategoria(curso);
+    public ResponseEntity<List<DadosEstatisticosTopicos>> stats() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic())
+                .body(estatisticasTopicos.listar());
+    }
 
-            lista.add(new DadosEstatisticosTopicos(curso, total, ultSemana, respostas));
+    // O índice único de hash_conteudo resolve submissões concorrentes que passaram juntas pela verificação
+    private void salvarSemDuplicidade(Topico topico) {
+        try {
+            topicoRepository.saveAndFlush(topico);
+        } catch (DataIntegrityViolationException e) {
+            if (violaIndiceHashConteudo(e)) {
+                throw new ValidacaoException(MENSAGEM_DUPLICADO);
+            }
+            throw e;
         }
-
-        return lista;
+        detectorTopicosDuplicados.registrar(topico.getHashConteudo());
     }
 
+    // Outras violações (chave estrangeira, not null, outro índice) não são duplicidade
+    private static boolean violaIndiceHashConteudo(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao) {
+                // MySQL informa "topicos.uk_..." e o H2 acrescenta sufixos; compara só o trecho do nome
+                var nome = violacao.getConstraintName();
+                return nome != null && nome.toLowerCase(Locale.ROOT).contains(Topico.INDICE_HASH_CONTEUDO);
+            }
+        }
+        return false;
+    }
 
 }
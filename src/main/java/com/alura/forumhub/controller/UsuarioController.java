@@ -1,12 +1,17 @@
 package com.alura.forumhub.controller;
 
+import com.alura.forumhub.domain.DadosPaginaCursor;
+import com.alura.forumhub.domain.topico.CacheDetalhesTopicos;
 import com.alura.forumhub.domain.usuario.*;
+import com.alura.forumhub.infra.paginacao.CursorPaginacao;
+import com.alura.forumhub.infra.security.CachePrincipais;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -21,6 +26,12 @@ public class UsuarioController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CachePrincipais cachePrincipais;
+
+    @Autowired
+    private CacheDetalhesTopicos cacheDetalhesTopicos;
+
     @PostMapping
     public ResponseEntity<DadosDetalhamentoUsuario> cadastrar(
             @RequestBody @Valid DadosCadastroUsuario dados,
@@ -54,6 +65,7 @@ public class UsuarioController {
                 .body(responseBody);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<Page<DadosListagemUsuario>> listar(Pageable pageable) {
         var page = usuarioRepository
@@ -67,6 +79,20 @@ public class UsuarioController {
         return ResponseEntity.ok(page);
     }
 
+    @Transactional(readOnly = true)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<DadosPaginaCursor<DadosListagemUsuario>> listarPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size) {
+        var tamanho = CursorPaginacao.tamanho(size);
+        var usuarios = usuarioRepository.findListagemAposId(
+                CursorPaginacao.decodificarId(cursor), CursorPaginacao.limite(tamanho));
+
+        return ResponseEntity.ok(DadosPaginaCursor.de(usuarios, tamanho,
+                u -> CursorPaginacao.codificar(u.id())));
+    }
+
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<DadosDetalhamentoUsuario> detalhar(@PathVariable Long id) {
         return usuarioRepository.findById(id)
@@ -87,9 +113,14 @@ public class UsuarioController {
 
         return usuarioRepository.findById(id)
                 .map(u -> {
+                    var renomeado = !dados.nome().equals(u.getNome());
                     u.setNome(dados.nome());
                     u.setSenha(passwordEncoder.encode(dados.senha()));
                     usuarioRepository.save(u);
+                    cachePrincipais.invalidar(u.getEmail());
+                    if (renomeado) {
+                        cacheDetalhesTopicos.invalidarTodos();
+                    }
                     var dto = new DadosDetalhamentoUsuario(
                             u.getId(), u.getNome(), u.getEmail());
                     return ResponseEntity.ok(dto);
@@ -99,10 +130,12 @@ public class UsuarioController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> excluir(@PathVariable Long id) {
-        if (!usuarioRepository.existsById(id)) {
+        var usuario = usuarioRepository.findById(id);
+        if (usuario.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        usuarioRepository.deleteById(id);
+        usuarioRepository.delete(usuario.get());
+        cachePrincipais.invalidar(usuario.get().getEmail());
         return ResponseEntity.noContent().build();
     }
 }
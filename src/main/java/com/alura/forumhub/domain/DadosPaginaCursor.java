@@ -0,0 +1,19 @@
+package com.alura.forumhub.domain;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record DadosPaginaCursor<T>(
+        List<T> conteudo,
+        String next
+) {
+    // Recebe até tamanho + 1 itens: o excedente indica que existe uma próxima página
+    public static <T> DadosPaginaCursor<T> de(List<T> itens, int tamanho, Function<T, String> cursorDoItem) {
+        if (itens.size() <= tamanho) {
+            return new DadosPaginaCursor<>(itens, null);
+        }
+
+        var pagina = List.copyOf(itens.subList(0, tamanho));
+        return new DadosPaginaCursor<>(pagina, cursorDoItem.apply(pagina.get(tamanho - 1)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.alura.forumhub.domain.curso;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Nome do curso -> (id, categoria) em memória, para que o filtro por curso da listagem não leia cursos.
+// O mapa é recarregado periodicamente; um nome ausente é procurado pelo findByNome (que passa pelo
+// cache de consultas) e, se existir, entra no mapa, então cursos novos não esperam a recarga.
+@Component
+public class CatalogoCursos {
+
+    public record CursoResumo(Long id, String categoria) {
+    }
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private volatile Map<String, CursoResumo> porNome;
+
+    public Optional<CursoResumo> buscarPorNome(String nome) {
+        var atual = porNome;
+        var mapa = atual != null ? atual : carregar();
+
+        var resumo = mapa.get(nome);
+        if (resumo != null) {
+            return Optional.of(resumo);
+        }
+
+        var curso = cursoRepository.findByNome(nome).map(c -> new CursoResumo(c.getId(), c.getCategoria()));
+        curso.ifPresent(c -> mapa.put(nome, c));
+        return curso;
+    }
+
+    @Scheduled(fixedDelayString = "${forumhub.cursos.catalogo.intervalo-recarga:5m}")
+    public void recarregar() {
+        carregar();
+    }
+
+    private synchronized Map<String, CursoResumo> carregar() {
+        var mapa = new ConcurrentHashMap<String, CursoResumo>();
+        for (var curso : cursoRepository.findAll()) {
+            mapa.put(curso.getNome(), new CursoResumo(curso.getId(), curso.getCategoria()));
+        }
+        porNome = mapa;
+        return mapa;
+    }
+}
@@ -0,0 +1,10 @@
+package com.alura.forumhub.domain.curso;
+
+public interface ContagemPorCategoria {
+
+    String getCategoria();
+
+    long getTopicos();
+
+    long getRespostas();
+}
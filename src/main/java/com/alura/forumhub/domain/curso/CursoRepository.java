@@ -1,10 +1,30 @@
 package com.alura.forumhub.domain.curso;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CursoRepository extends JpaRepository<Curso, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "cursos-por-nome")
+    })
     Optional<Curso> findByNome(String nome);
+
+    // Um único GROUP BY para semear as estatísticas; categorias sem tópicos também aparecem
+    @Query("""
+            select c.categoria as categoria,
+                   count(t) as topicos,
+                   coalesce(sum(t.respostasCount), 0) as respostas
+            from Curso c
+            left join c.topicos t on t.ativo = true
+            group by c.categoria
+            """)
+    List<ContagemPorCategoria> contarTopicosAtivosPorCategoria();
 }
 
@@ -0,0 +1,25 @@
+package com.alura.forumhub.domain.exportacao;
+
+import com.alura.forumhub.domain.resposta.Resposta;
+
+import java.time.LocalDateTime;
+
+public record DadosExportacaoResposta(
+        Long id,
+        Long topicoId,
+        String mensagem,
+        LocalDateTime dataCriacao,
+        Boolean solucao,
+        String autor
+) {
+    public DadosExportacaoResposta(Resposta resposta) {
+        this(
+                resposta.getId(),
+                resposta.getTopico().getId(),
+                resposta.getMensagem(),
+                resposta.getDataCriacao(),
+                resposta.getSolucao(),
+                resposta.getAutor().getNome()
+        );
+    }
+}
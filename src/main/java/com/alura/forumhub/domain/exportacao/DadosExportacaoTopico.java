@@ -0,0 +1,33 @@
+package com.alura.forumhub.domain.exportacao;
+
+import com.alura.forumhub.domain.topico.Topico;
+
+import java.time.LocalDateTime;
+
+public record DadosExportacaoTopico(
+        Long id,
+        String titulo,
+        String mensagem,
+        LocalDateTime dataCriacao,
+        String status,
+        Boolean ativo,
+        String autor,
+        String curso,
+        String categoria,
+        Integer respostas
+) {
+    public DadosExportacaoTopico(Topico topico) {
+        this(
+                topico.getId(),
+                topico.getTitulo(),
+                topico.getMensagem(),
+                topico.getDataCriacao(),
+                topico.getStatus().toString(),
+                topico.getAtivo(),
+                topico.getAutor().getNome(),
+                topico.getCurso().getNome(),
+                topico.getCurso().getCategoria(),
+                topico.getRespostasCount()
+        );
+    }
+}
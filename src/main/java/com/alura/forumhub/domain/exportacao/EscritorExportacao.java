@@ -0,0 +1,109 @@
+package com.alura.forumhub.domain.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Escreve registros (records) um a um na saída. fechar() só descarrega os buffers: quem abriu a
+// saída continua responsável por ela (por exemplo, para finalizar o gzip).
+abstract class EscritorExportacao {
+
+    abstract void escrever(Object registro) throws IOException;
+
+    abstract void fechar() throws IOException;
+
+    static EscritorExportacao de(FormatoExportacao formato, Class<? extends Record> tipo,
+                                 OutputStream saida, ObjectMapper objectMapper) throws IOException {
+        return switch (formato) {
+            case NDJSON -> new Ndjson(saida, objectMapper);
+            case CSV -> new Csv(saida, tipo);
+        };
+    }
+
+    private static final class Ndjson extends EscritorExportacao {
+
+        private final JsonGenerator gerador;
+        private final ObjectWriter escritor;
+
+        Ndjson(OutputStream saida, ObjectMapper objectMapper) throws IOException {
+            this.gerador = objectMapper.getFactory().createGenerator(saida)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // O separador padrão entre valores raiz é um espaço, que ficaria no começo de cada linha
+            this.gerador.setRootValueSeparator(null);
+            // Sem flush por registro: cada flush viraria um chunk HTTP
+            this.escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        void escrever(Object registro) throws IOException {
+            escritor.writeValue(gerador, registro);
+            gerador.writeRaw('\n');
+        }
+
+        @Override
+        void fechar() throws IOException {
+            gerador.close();
+        }
+    }
+
+    private static final class Csv extends EscritorExportacao {
+
+        private final BufferedWriter escritor;
+        private final Method[] acessores;
+
+        Csv(OutputStream saida, Class<? extends Record> tipo) throws IOException {
+            this.escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+            var componentes = tipo.getRecordComponents();
+            this.acessores = Arrays.stream(componentes).map(RecordComponent::getAccessor).toArray(Method[]::new);
+            escreverLinha(Arrays.stream(componentes).map(RecordComponent::getName).toArray());
+        }
+
+        @Override
+        void escrever(Object registro) throws IOException {
+            var valores = new Object[acessores.length];
+            for (int i = 0; i < acessores.length; i++) {
+                try {
+                    valores[i] = acessores[i].invoke(registro);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            escreverLinha(valores);
+        }
+
+        @Override
+        void fechar() throws IOException {
+            escritor.flush();
+        }
+
+        private void escreverLinha(Object[] valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    escritor.write(',');
+                }
+                if (valores[i] != null) {
+                    escritor.write(escapar(valores[i].toString()));
+                }
+            }
+            escritor.write("\r\n");
+        }
+
+        // RFC 4180: aspas em volta de valores com vírgula, aspas ou quebra de linha
+        private static String escapar(String valor) {
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                return valor;
+            }
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.alura.forumhub.domain.exportacao;
+
+import com.alura.forumhub.domain.resposta.RespostaRepository;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Exporta tópicos e respostas lendo um Stream com fetch size (um único cursor no banco) e escrevendo
+// linha a linha; as entidades são desanexadas conforme passam, então o heap não cresce com o volume
+@Service
+public class ExportadorForum {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${forumhub.exportacao.intervalo-limpeza:1000}")
+    private int intervaloLimpeza;
+
+    private TransactionTemplate leitura;
+
+    @PostConstruct
+    public void inicializar() {
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    public void exportarTopicos(FiltroExportacao filtro, FormatoExportacao formato, OutputStream saida) {
+        leitura.executeWithoutResult(status -> {
+            try (var topicos = topicoRepository.streamExportacao(
+                    filtro.curso(), filtro.inicio(), filtro.fim(), filtro.ativo())) {
+                escrever(topicos, DadosExportacaoTopico.class, DadosExportacaoTopico::new, formato, saida);
+            }
+        });
+    }
+
+    public void exportarRespostas(FiltroExportacao filtro, FormatoExportacao formato, OutputStream saida) {
+        leitura.executeWithoutResult(status -> {
+            try (var respostas = respostaRepository.streamExportacao(
+                    filtro.curso(), filtro.inicio(), filtro.fim(), filtro.ativo())) {
+                escrever(respostas, DadosExportacaoResposta.class, DadosExportacaoResposta::new, formato, saida);
+            }
+        });
+    }
+
+    private <E, R extends Record> void escrever(Stream<E> entidades, Class<R> tipo, Function<E, R> mapeamento,
+                                                FormatoExportacao formato, OutputStream saida) {
+        try {
+            var escritor = EscritorExportacao.de(formato, tipo, saida, objectMapper);
+            var iterador = entidades.iterator();
+            var linhas = 0L;
+            while (iterador.hasNext()) {
+                var entidade = iterador.next();
+                escritor.escrever(mapeamento.apply(entidade));
+                entityManager.detach(entidade);
+                // Autores e cursos referenciados continuam no contexto até a limpeza periódica
+                if (++linhas % intervaloLimpeza == 0) {
+                    entityManager.clear();
+                }
+            }
+            escritor.fechar();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.alura.forumhub.domain.exportacao;
+
+import java.time.LocalDateTime;
+
+// Filtros opcionais da exportação; ano vira o intervalo semiaberto [1º de janeiro, 1º de janeiro seguinte)
+public record FiltroExportacao(String curso, Integer ano, Boolean ativo) {
+
+    public LocalDateTime inicio() {
+        return ano == null ? null : LocalDateTime.of(ano, 1, 1, 0, 0);
+    }
+
+    public LocalDateTime fim() {
+        return ano == null ? null : LocalDateTime.of(ano + 1, 1, 1, 0, 0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.alura.forumhub.domain.exportacao;
+
+import com.alura.forumhub.domain.ValidacaoException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum FormatoExportacao {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType tipoConteudo;
+    private final String extensao;
+
+    FormatoExportacao(MediaType tipoConteudo, String extensao) {
+        this.tipoConteudo = tipoConteudo;
+        this.extensao = extensao;
+    }
+
+    public MediaType tipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String extensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidacaoException("Formato de exportação inválido: " + valor);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.alura.forumhub.domain.importacao;
+
+import java.time.LocalDateTime;
+
+public record DadosImportacao(
+        Long id,
+        StatusImportacao status,
+        long registrosProcessados,
+        long topicosImportados,
+        long respostasImportadas,
+        long erros,
+        String ultimoErro,
+        LocalDateTime iniciadaEm,
+        LocalDateTime atualizadaEm
+) {
+    public DadosImportacao(Importacao importacao) {
+        this(
+                importacao.getId(),
+                importacao.getStatus(),
+                importacao.getRegistrosProcessados(),
+                importacao.getTopicosImportados(),
+                importacao.getRespostasImportadas(),
+                importacao.getErros(),
+                importacao.getUltimoErro(),
+                importacao.getIniciadaEm(),
+                importacao.getAtualizadaEm()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.alura.forumhub.domain.importacao;
+
+import com.alura.forumhub.domain.topico.StatusTopico;
+
+import java.time.LocalDateTime;
+
+// Uma linha do NDJSON. tipo "topico" usa id, titulo, mensagem, autor, curso e status;
+// tipo "resposta" usa topico (o id de origem do tópico), mensagem, autor e solucao.
+// autor é o e-mail do usuário e curso é o nome do curso, ambos já cadastrados.
+public record DadosRegistroImportacao(
+        String tipo,
+        String id,
+        String topico,
+        String titulo,
+        String mensagem,
+        String autor,
+        String curso,
+        LocalDateTime dataCriacao,
+        StatusTopico status,
+        Boolean solucao
+) {
+}
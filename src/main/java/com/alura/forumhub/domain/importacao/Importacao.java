@@ -0,0 +1,78 @@
+package com.alura.forumhub.domain.importacao;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Progresso de uma importação, gravado na mesma transação de cada lote: após um restart,
+// a importação é retomada a partir de registrosProcessados
+@Entity(name = "Importacao")
+@Table(name = "importacoes")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class Importacao {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusImportacao status = StatusImportacao.EM_ANDAMENTO;
+
+    @Column(name = "registros_processados", nullable = false)
+    private long registrosProcessados;
+
+    @Column(name = "topicos_importados", nullable = false)
+    private long topicosImportados;
+
+    @Column(name = "respostas_importadas", nullable = false)
+    private long respostasImportadas;
+
+    @Column(nullable = false)
+    private long erros;
+
+    @Column(name = "ultimo_erro", length = TAMANHO_MAXIMO_ERRO)
+    private String ultimoErro;
+
+    @Column(name = "iniciada_em", nullable = false)
+    private LocalDateTime iniciadaEm = LocalDateTime.now();
+
+    @Column(name = "atualizada_em", nullable = false)
+    private LocalDateTime atualizadaEm = iniciadaEm;
+
+    public void registrarLote(int registros, int topicos, int respostas, int erros, String ultimoErro) {
+        this.registrosProcessados += registros;
+        this.topicosImportados += topicos;
+        this.respostasImportadas += respostas;
+        this.erros += erros;
+        if (ultimoErro != null) {
+            this.ultimoErro = truncar(ultimoErro);
+        }
+        this.atualizadaEm = LocalDateTime.now();
+    }
+
+    public void retomar() {
+        this.status = StatusImportacao.EM_ANDAMENTO;
+        this.atualizadaEm = LocalDateTime.now();
+    }
+
+    public void concluir() {
+        this.status = StatusImportacao.CONCLUIDA;
+        this.atualizadaEm = LocalDateTime.now();
+    }
+
+    public void falhar(String motivo) {
+        this.status = StatusImportacao.FALHOU;
+        this.ultimoErro = truncar(motivo);
+        this.atualizadaEm = LocalDateTime.now();
+    }
+
+    private static String truncar(String mensagem) {
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+}
@@ -0,0 +1,6 @@
+package com.alura.forumhub.domain.importacao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportacaoRepository extends JpaRepository<Importacao, Long> {
+}
@@ -0,0 +1,278 @@
+package com.alura.forumhub.domain.importacao;
+
+import com.alura.forumhub.domain.ValidacaoException;
+import com.alura.forumhub.domain.curso.Curso;
+import com.alura.forumhub.domain.resposta.Resposta;
+import com.alura.forumhub.domain.topico.ConteudoTopico;
+import com.alura.forumhub.domain.topico.DetectorTopicosDuplicados;
+import com.alura.forumhub.domain.topico.ReconciliacaoContadoresRespostas;
+import com.alura.forumhub.domain.topico.StatusTopico;
+import com.alura.forumhub.domain.topico.Topico;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import com.alura.forumhub.domain.topico.busca.IndiceBuscaTopicos;
+import com.alura.forumhub.domain.topico.estatisticas.EstatisticasTopicos;
+import com.alura.forumhub.domain.usuario.Usuario;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Importa tópicos e respostas de um NDJSON lido em streaming. Cada lote é uma transação que grava
+// os registros (INSERTs agrupados pelo Hibernate) e o progresso da importação; autores e cursos
+// são resolvidos por mapas carregados uma vez, sem SELECT por linha.
+@Service
+public class ImportadorForum {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportadorForum.class);
+
+    private static final int CAPACIDADE_TOPICOS_ORIGEM = 100_000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ImportacaoRepository importacaoRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private DetectorTopicosDuplicados detectorTopicosDuplicados;
+
+    @Autowired
+    private ReconciliacaoContadoresRespostas reconciliacaoContadoresRespostas;
+
+    @Autowired
+    private EstatisticasTopicos estatisticasTopicos;
+
+    @Autowired
+    private IndiceBuscaTopicos indiceBuscaTopicos;
+
+    @Value("${forumhub.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    // topicos: id de origem -> id gerado, para ligar as respostas sem consultar o banco
+    private record Referencias(Map<String, Long> autores, Map<String, Long> cursos, Cache<String, Long> topicos) {
+    }
+
+    private static final class ResultadoLote {
+        int topicos;
+        int respostas;
+        int erros;
+        String ultimoErro;
+    }
+
+    public DadosImportacao importar(InputStream corpo, Long retomar) {
+        var importacao = transactionTemplate.execute(status -> iniciar(retomar));
+        var referencias = carregarReferencias();
+        var ignorar = importacao.getRegistrosProcessados();
+        var lidos = 0L;
+
+        try (MappingIterator<DadosRegistroImportacao> registros =
+                     objectMapper.readerFor(DadosRegistroImportacao.class).readValues(corpo)) {
+            var lote = new ArrayList<DadosRegistroImportacao>(tamanhoLote);
+            while (registros.hasNextValue()) {
+                var registro = registros.nextValue();
+                if (++lidos <= ignorar) {
+                    continue;
+                }
+
+                lote.add(registro);
+                if (lote.size() == tamanhoLote) {
+                    gravarLote(importacao.getId(), lidos - lote.size(), lote, referencias);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravarLote(importacao.getId(), lidos - lote.size(), lote, referencias);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Importação {} interrompida no registro {}", importacao.getId(), lidos, e);
+            var motivo = Objects.toString(e.getMessage(), e.getClass().getSimpleName());
+            return finalizar(importacao.getId(), i -> i.falhar(motivo));
+        }
+
+        reconciliacaoContadoresRespostas.reconciliar();
+        estatisticasTopicos.carregar();
+        return finalizar(importacao.getId(), Importacao::concluir);
+    }
+
+    private Importacao iniciar(Long retomar) {
+        if (retomar == null) {
+            return importacaoRepository.save(new Importacao());
+        }
+
+        var importacao = importacaoRepository.findById(retomar)
+                .orElseThrow(() -> new ValidacaoException("Importação não encontrada."));
+        if (importacao.getStatus() == StatusImportacao.CONCLUIDA) {
+            throw new ValidacaoException("Importação já concluída.");
+        }
+        importacao.retomar();
+        return importacao;
+    }
+
+    private Referencias carregarReferencias() {
+        return transactionTemplate.execute(status -> new Referencias(
+                mapear("select u.email, u.id from Usuario u"),
+                mapear("select c.nome, c.id from Curso c"),
+                Caffeine.newBuilder().maximumSize(CAPACIDADE_TOPICOS_ORIGEM).build()));
+    }
+
+    private Map<String, Long> mapear(String jpql) {
+        var mapa = new HashMap<String, Long>();
+        entityManager.createQuery(jpql, Object[].class)
+                .getResultStream()
+                .forEach(linha -> mapa.put((String) linha[0], (Long) linha[1]));
+        return mapa;
+    }
+
+    private void gravarLote(Long importacaoId, long anteriores, List<DadosRegistroImportacao> lote,
+                            Referencias referencias) {
+        var hashes = new HashSet<String>();
+        var topicos = new ArrayList<Topico>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var resultado = new ResultadoLote();
+            for (int i = 0; i < lote.size(); i++) {
+                var registro = lote.get(i);
+                try {
+                    switch (Objects.toString(registro.tipo(), "")) {
+                        case "topico" -> {
+                            topicos.add(importarTopico(registro, referencias, hashes));
+                            resultado.topicos++;
+                        }
+                        case "resposta" -> {
+                            importarResposta(registro, referencias);
+                            resultado.respostas++;
+                        }
+                        default -> throw new ValidacaoException("Tipo de registro desconhecido: " + registro.tipo());
+                    }
+                } catch (ValidacaoException e) {
+                    resultado.erros++;
+                    resultado.ultimoErro = "Registro " + (anteriores + i + 1) + ": " + e.getMessage();
+                }
+            }
+
+            entityManager.find(Importacao.class, importacaoId).registrarLote(
+                    lote.size(), resultado.topicos, resultado.respostas, resultado.erros, resultado.ultimoErro);
+            entityManager.flush();
+            entityManager.clear();
+        });
+
+        // Só os tópicos do lote entram no índice; reconstruir tudo duplicaria as postagens já indexadas
+        hashes.forEach(detectorTopicosDuplicados::registrar);
+        topicos.forEach(t -> indiceBuscaTopicos.indexar(t.getId(), t.getTitulo(), t.getMensagem()));
+    }
+
+    private Topico importarTopico(DadosRegistroImportacao registro, Referencias referencias, Set<String> hashes) {
+        exigir(registro.id(), "id");
+        exigir(registro.titulo(), "titulo");
+        exigir(registro.mensagem(), "mensagem");
+        if (referencias.topicos().getIfPresent(registro.id()) != null) {
+            throw new ValidacaoException("Tópico de origem repetido: " + registro.id());
+        }
+
+        var autorId = autor(registro, referencias);
+        var cursoId = curso(registro, referencias);
+        var hash = ConteudoTopico.hash(registro.titulo(), registro.mensagem());
+        if (!hashes.add(hash)
+                || detectorTopicosDuplicados.talvezExista(hash) && topicoRepository.existsByHashConteudo(hash)) {
+            throw new ValidacaoException("Já existe um tópico com esse título e mensagem: " + registro.id());
+        }
+
+        var dataCriacao = registro.dataCriacao() != null ? registro.dataCriacao() : LocalDateTime.now();
+        var topico = new Topico();
+        topico.setOrigemId(registro.id());
+        topico.setTitulo(registro.titulo());
+        topico.setMensagem(registro.mensagem());
+        topico.setHashConteudo(hash);
+        topico.setDataCriacao(dataCriacao);
+        topico.setUltimaAtividade(dataCriacao);
+        topico.setStatus(registro.status() != null ? registro.status() : StatusTopico.NAO_RESPONDIDO);
+        topico.setAutor(entityManager.getReference(Usuario.class, autorId));
+        topico.setCurso(entityManager.getReference(Curso.class, cursoId));
+
+        entityManager.persist(topico);
+        referencias.topicos().put(registro.id(), topico.getId());
+        return topico;
+    }
+
+    private void importarResposta(DadosRegistroImportacao registro, Referencias referencias) {
+        exigir(registro.topico(), "topico");
+        exigir(registro.mensagem(), "mensagem");
+        var autorId = autor(registro, referencias);
+
+        // Tópicos de importações anteriores não estão no mapa; a consulta por origem_id só ocorre nesse caso
+        var topicoId = referencias.topicos().get(registro.topico(),
+                origem -> topicoRepository.findIdByOrigemId(origem).orElse(null));
+        if (topicoId == null) {
+            throw new ValidacaoException("Tópico de origem não encontrado: " + registro.topico());
+        }
+
+        var resposta = Resposta.builder()
+                .mensagem(registro.mensagem())
+                .dataCriacao(registro.dataCriacao() != null ? registro.dataCriacao() : LocalDateTime.now())
+                .solucao(Boolean.TRUE.equals(registro.solucao()))
+                .topico(entityManager.getReference(Topico.class, topicoId))
+                .autor(entityManager.getReference(Usuario.class, autorId))
+                .build();
+
+        entityManager.persist(resposta);
+    }
+
+    private Long autor(DadosRegistroImportacao registro, Referencias referencias) {
+        var id = referencias.autores().get(registro.autor());
+        if (id == null) {
+            throw new ValidacaoException("Autor não encontrado: " + registro.autor());
+        }
+        return id;
+    }
+
+    private Long curso(DadosRegistroImportacao registro, Referencias referencias) {
+        var id = referencias.cursos().get(registro.curso());
+        if (id == null) {
+            throw new ValidacaoException("Curso não encontrado: " + registro.curso());
+        }
+        return id;
+    }
+
+    private static void exigir(String valor, String campo) {
+        if (valor == null || valor.isBlank()) {
+            throw new ValidacaoException("Campo obrigatório ausente: " + campo);
+        }
+    }
+
+    private DadosImportacao finalizar(Long importacaoId, Consumer<Importacao> desfecho) {
+        return transactionTemplate.execute(status -> {
+            var importacao = entityManager.find(Importacao.class, importacaoId);
+            desfecho.accept(importacao);
+            return new DadosImportacao(importacao);
+        });
+    }
+}
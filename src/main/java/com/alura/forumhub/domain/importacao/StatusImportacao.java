@@ -0,0 +1,7 @@
+package com.alura.forumhub.domain.importacao;
+
+public enum StatusImportacao {
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
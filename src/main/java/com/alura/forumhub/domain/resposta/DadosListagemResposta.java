@@ -1,9 +1,11 @@
 package com.alura.forumhub.domain.resposta;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public record DadosListagemResposta(
         Long id,
         String mensagem,
         String autor,
-        Boolean solucao
+        Boolean solucao,
+        @JsonIgnore Long versao
 ) {}
-
@@ -0,0 +1,11 @@
+package com.alura.forumhub.domain.resposta;
+
+import java.time.LocalDateTime;
+
+public record DadosListagemRespostaTopico(
+        Long id,
+        String mensagem,
+        String autor,
+        Boolean solucao,
+        LocalDateTime dataCriacao
+) {}
@@ -0,0 +1,8 @@
+package com.alura.forumhub.domain.resposta;
+
+public record DadosRespostasPorTopico(
+        Long topicoId,
+        Long respostas,
+        Long solucoes
+) {
+}
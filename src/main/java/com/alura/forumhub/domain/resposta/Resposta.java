@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
 public class Resposta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "respostas_id")
+    @TableGenerator(name = "respostas_id", table = "id_geradores", pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "respostas", allocationSize = 100)
     private Long id;
 
     @NotBlank
@@ -38,6 +40,10 @@ public class Resposta {
     @JoinColumn(name = "autor_id", nullable = false)
     private Usuario autor;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @PrePersist
     public void prePersist() {
         if (dataCriacao == null) {
@@ -0,0 +1,10 @@
+package com.alura.forumhub.domain.resposta;
+
+public record RespostaCadastradaEvento(
+        Long id,
+        Long topicoId,
+        String categoria,
+        // Respostas de tópicos excluídos não entram nas estatísticas
+        boolean topicoAtivo
+) {
+}
@@ -0,0 +1,8 @@
+package com.alura.forumhub.domain.resposta;
+
+public record RespostaMarcadaComoSolucaoEvento(
+        Long id,
+        Long topicoId,
+        boolean solucao
+) {
+}
@@ -1,9 +1,111 @@
 package com.alura.forumhub.domain.resposta;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RespostaRepository extends JpaRepository<Resposta, Long> {
-    // Conta respostas associadas a tópicos ativos de um dado curso
-    long countByTopicoCursoCategoria(String categoriaCurso);
 
+    @Query("""
+            select new com.alura.forumhub.domain.resposta.DadosRespostasPorTopico(
+                r.topico.id, count(r), sum(case when r.solucao = true then 1 else 0 end))
+            from Resposta r
+            where r.topico.id in :topicos
+            group by r.topico.id
+            """)
+    List<DadosRespostasPorTopico> contarPorTopico(@Param("topicos") Collection<Long> topicos);
+
+    @Query("select r.versao from Resposta r where r.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    // Exportação: o tópico vem com autor e curso para que nenhum ManyToOne dispare SELECT extra
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select r from Resposta r
+            join fetch r.autor
+            join fetch r.topico t
+            join fetch t.autor
+            join fetch t.curso c
+            where (:cursoNome is null or c.nome = :cursoNome)
+              and (:inicio is null or r.dataCriacao >= :inicio)
+              and (:fim is null or r.dataCriacao < :fim)
+              and (:ativo is null or t.ativo = :ativo)
+            order by r.id
+            """)
+    Stream<Resposta> streamExportacao(
+            @Param("cursoNome") String cursoNome,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("ativo") Boolean ativo
+    );
+
+    // Projeção da listagem: o nome do autor vem no mesmo SELECT, sem carregar Resposta -> Topico -> Usuario
+    @Query(value = """
+            select new com.alura.forumhub.domain.resposta.DadosListagemResposta(r.id, r.mensagem, a.nome, r.solucao, r.versao)
+            from Resposta r
+            join r.autor a
+            """,
+            countQuery = "select count(r) from Resposta r")
+    Page<DadosListagemResposta> findListagem(Pageable pageable);
+
+    @Query("""
+            select new com.alura.forumhub.domain.resposta.DadosListagemResposta(r.id, r.mensagem, a.nome, r.solucao, r.versao)
+            from Resposta r
+            join r.autor a
+            where r.id > :id
+            order by r.id
+            """)
+    List<DadosListagemResposta> findListagemAposId(@Param("id") Long id, Limit limite);
+
+    // Respostas de um tópico: a solução primeiro, depois por data e id. O order by repete a ordem inteira do
+    // índice (topico_id, solucao desc, data_criacao, id) para que a página saia dele sem ordenar o tópico todo;
+    // o join por entidade mantém r.topico.id na coluna respostas.topico_id, que é a que o índice cobre
+    @Query("""
+            select new com.alura.forumhub.domain.resposta.DadosListagemRespostaTopico(
+                r.id, r.mensagem, a.nome, r.solucao, r.dataCriacao)
+            from Resposta r
+            join r.autor a
+            join Topico t on t.id = r.topico.id
+            where r.topico.id = :topicoId and t.ativo = true
+            order by r.topico.id, r.solucao desc, r.dataCriacao, r.id
+            """)
+    List<DadosListagemRespostaTopico> findListagemPorTopico(@Param("topicoId") Long topicoId, Limit limite);
+
+    // Continuação dentro de um bloco (soluções ou demais respostas): com solucao fixa, a tupla (data, id) vira
+    // um range seek no índice. "dataCriacao >= :data" fica explícito porque o OR sozinho não delimita a faixa.
+    // O início de um bloco é a posição (CursorPaginacao.DATA_INICIAL, 0)
+    @Query("""
+            select new com.alura.forumhub.domain.resposta.DadosListagemRespostaTopico(
+                r.id, r.mensagem, a.nome, r.solucao, r.dataCriacao)
+            from Resposta r
+            join r.autor a
+            join Topico t on t.id = r.topico.id
+            where r.topico.id = :topicoId and t.ativo = true
+              and r.solucao = :solucao
+              and r.dataCriacao >= :data
+              and (r.dataCriacao > :data or r.id > :id)
+            order by r.topico.id, r.solucao desc, r.dataCriacao, r.id
+            """)
+    List<DadosListagemRespostaTopico> findListagemPorTopicoAposCursor(
+            @Param("topicoId") Long topicoId,
+            @Param("solucao") boolean solucao,
+            @Param("data") LocalDateTime data,
+            @Param("id") Long id,
+            Limit limite
+    );
 }
@@ -0,0 +1,232 @@
+package com.alura.forumhub.domain.topico;
+
+import com.alura.forumhub.domain.resposta.RespostaCadastradaEvento;
+import com.alura.forumhub.domain.resposta.RespostaExcluidaEvento;
+import com.alura.forumhub.domain.resposta.RespostaMarcadaComoSolucaoEvento;
+import com.alura.forumhub.domain.resposta.RespostaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Mantém Topico.status a partir dos eventos de resposta, fora do caminho da requisição.
+// Os eventos chegam após o commit e vão para uma fila limitada; um worker drena em lotes,
+// junta os tópicos repetidos, recalcula o status de todos com uma consulta agrupada e grava
+// com um UPDATE por status de destino. Com a fila cheia, quem publicou processa o próprio tópico.
+// Um lote que falha volta para a fila e o worker espera com backoff exponencial antes de seguir.
+@Service
+public class AtualizadorStatusTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(AtualizadorStatusTopicos.class);
+
+    private static final Duration ESPERA_POR_EVENTO = Duration.ofMillis(500);
+    private static final Duration ESPERA_APOS_FALHA = Duration.ofMillis(200);
+    // Menor que a espera do encerrar(), para o worker não dormir além do shutdown
+    private static final Duration ESPERA_MAXIMA_APOS_FALHA = Duration.ofSeconds(5);
+    private static final int MAXIMO_TENTATIVAS = 5;
+
+    private record Pendente(Long topicoId, long enfileiradoEm, int tentativas) {
+    }
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheDetalhesTopicos cacheDetalhesTopicos;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forumhub.topicos.status.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${forumhub.topicos.status.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    private TransactionTemplate transacao;
+    private BlockingQueue<Pendente> fila;
+    private Timer atraso;
+    private Counter atualizados;
+    private Counter descartados;
+    private Thread worker;
+    private volatile boolean ativo;
+
+    @PostConstruct
+    public void iniciar() {
+        // REQUIRES_NEW: no caminho com a fila cheia, o listener ainda roda dentro da sincronização pós-commit
+        transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        Gauge.builder("forumhub.topicos.status.fila", fila, BlockingQueue::size)
+                .description("Eventos de resposta aguardando a atualização de status")
+                .register(meterRegistry);
+        atraso = Timer.builder("forumhub.topicos.status.atraso")
+                .description("Tempo entre o commit da resposta e a gravação do status")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        atualizados = Counter.builder("forumhub.topicos.status.atualizados")
+                .description("Tópicos que tiveram o status alterado")
+                .register(meterRegistry);
+        descartados = Counter.builder("forumhub.topicos.status.descartados")
+                .description("Eventos abandonados após esgotar as tentativas ou sem espaço na fila")
+                .register(meterRegistry);
+
+        ativo = true;
+        worker = Thread.ofPlatform().name("status-topicos").daemon().start(this::executar);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCadastrarResposta(RespostaCadastradaEvento evento) {
+        enfileirar(evento.topicoId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoMarcarSolucao(RespostaMarcadaComoSolucaoEvento evento) {
+        enfileirar(evento.topicoId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoExcluirResposta(RespostaExcluidaEvento evento) {
+        enfileirar(evento.topicoId());
+    }
+
+    // Processa o que ainda estiver na fila antes de o contexto (e o pool de conexões) ser fechado
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        drenar();
+    }
+
+    public void drenar() {
+        var lote = new ArrayList<Pendente>();
+        while (fila.drainTo(lote, tamanhoLote) > 0) {
+            processar(lote);
+            lote.clear();
+        }
+    }
+
+    // Roda no afterCommit de quem publicou: uma exceção aqui não pode escapar para a requisição já confirmada
+    private void enfileirar(Long topicoId) {
+        var pendente = new Pendente(topicoId, System.nanoTime(), 0);
+        if (fila.offer(pendente)) {
+            return;
+        }
+        try {
+            processar(List.of(pendente));
+        } catch (RuntimeException e) {
+            descartados.increment();
+            log.error("Fila de status cheia e falha ao atualizar o status do tópico {}", topicoId, e);
+        }
+    }
+
+    private void executar() {
+        var lote = new ArrayList<Pendente>(tamanhoLote);
+        var falhasSeguidas = 0;
+        while (ativo) {
+            try {
+                var primeiro = fila.poll(ESPERA_POR_EVENTO.toMillis(), TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                try {
+                    processar(lote);
+                    falhasSeguidas = 0;
+                } catch (RuntimeException e) {
+                    falhasSeguidas++;
+                    var espera = esperaAposFalha(falhasSeguidas);
+                    log.warn("Falha ao atualizar o status de {} tópicos; nova tentativa em {} ms",
+                            lote.size(), espera.toMillis(), e);
+                    reenfileirar(lote);
+                    Thread.sleep(espera.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void reenfileirar(List<Pendente> lote) {
+        for (var pendente : lote) {
+            var tentativa = new Pendente(pendente.topicoId(), pendente.enfileiradoEm(), pendente.tentativas() + 1);
+            if (tentativa.tentativas() >= MAXIMO_TENTATIVAS || !fila.offer(tentativa)) {
+                descartados.increment();
+                log.error("Status do tópico {} não atualizado após {} tentativas",
+                        pendente.topicoId(), tentativa.tentativas());
+            }
+        }
+    }
+
+    static Duration esperaAposFalha(int falhasSeguidas) {
+        var fator = 1L << Math.min(falhasSeguidas - 1, 16);
+        var espera = ESPERA_APOS_FALHA.multipliedBy(fator);
+        return espera.compareTo(ESPERA_MAXIMA_APOS_FALHA) > 0 ? ESPERA_MAXIMA_APOS_FALHA : espera;
+    }
+
+    private void processar(List<Pendente> lote) {
+        var topicos = new LinkedHashSet<Long>();
+        for (var pendente : lote) {
+            topicos.add(pendente.topicoId());
+        }
+
+        var alterados = transacao.execute(status -> aplicar(topicos));
+        cacheDetalhesTopicos.invalidar(topicos);
+        atualizados.increment(alterados == null ? 0 : alterados);
+        var agora = System.nanoTime();
+        for (var pendente : lote) {
+            atraso.record(agora - pendente.enfileiradoEm(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int aplicar(Set<Long> topicos) {
+        var porStatus = new EnumMap<StatusTopico, List<Long>>(StatusTopico.class);
+        var semRespostas = new LinkedHashSet<>(topicos);
+
+        for (var contagem : respostaRepository.contarPorTopico(topicos)) {
+            semRespostas.remove(contagem.topicoId());
+            porStatus.computeIfAbsent(StatusTopico.para(contagem.respostas(), contagem.solucoes()),
+                    s -> new ArrayList<>()).add(contagem.topicoId());
+        }
+        if (!semRespostas.isEmpty()) {
+            porStatus.computeIfAbsent(StatusTopico.NAO_RESPONDIDO, s -> new ArrayList<>()).addAll(semRespostas);
+        }
+
+        var alterados = 0;
+        for (var entrada : porStatus.entrySet()) {
+            alterados += topicoRepository.atualizarStatus(entrada.getValue(), entrada.getKey());
+        }
+        return alterados;
+    }
+}
@@ -0,0 +1,107 @@
+package com.alura.forumhub.domain.topico;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// JSON já serializado de GET /topicos/{id}, por id do tópico. Caffeine (W-TinyLFU) limitado pelo total
+// de bytes. Atualização, exclusão e mudança de status invalidam depois do commit; uma leitura que começou
+// antes de alguma invalidação não grava o que leu (geração). O cache só é preenchido com leituras do primário
+// (TopicoRepository.findByIdAndAtivoTrue); o TTL cobre o que não avisa, como alterações direto no banco.
+// Respostas e a reconciliação de contadores não invalidam: o contador não aparece no detalhe nem muda a versão.
+@Component
+public class CacheDetalhesTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheDetalhesTopicos.class);
+
+    public record DetalheSerializado(byte[] json, Long versao) {
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forumhub.topicos.detalhe-cache.tamanho-maximo:16MB}")
+    private DataSize tamanhoMaximo;
+
+    @Value("${forumhub.topicos.detalhe-cache.ttl:10m}")
+    private Duration ttl;
+
+    private final AtomicLong geracao = new AtomicLong();
+    private Cache<Long, DetalheSerializado> cache;
+
+    @PostConstruct
+    public void iniciar() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(tamanhoMaximo.toBytes())
+                .weigher((Long id, DetalheSerializado detalhe) -> detalhe.json().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "detalhes-topicos");
+    }
+
+    public DetalheSerializado buscar(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    // Lida antes de consultar o banco e devolvida em guardar()
+    public long geracao() {
+        return geracao.get();
+    }
+
+    public void guardar(Long id, Long versao, DadosDetalhamentoTopico dados, long geracaoLida) {
+        if (geracao.get() != geracaoLida) {
+            return;
+        }
+        try {
+            cache.put(id, new DetalheSerializado(objectMapper.writeValueAsBytes(dados), versao));
+        } catch (JsonProcessingException e) {
+            log.warn("Não foi possível serializar o tópico {} para o cache", id, e);
+            return;
+        }
+        // Uma invalidação entre a checagem e o put não pode deixar o valor antigo para trás
+        if (geracao.get() != geracaoLida) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void invalidar(Collection<Long> ids) {
+        geracao.incrementAndGet();
+        cache.invalidateAll(ids);
+    }
+
+    // Renomear um usuário muda o nomeAutor de todos os tópicos dele
+    public void invalidarTodos() {
+        geracao.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAtualizarTopico(TopicoAtualizadoEvento evento) {
+        invalidar(List.of(evento.id()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoExcluirTopico(TopicoExcluidoEvento evento) {
+        invalidar(List.of(evento.id()));
+    }
+}
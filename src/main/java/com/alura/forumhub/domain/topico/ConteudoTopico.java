@@ -0,0 +1,39 @@
+package com.alura.forumhub.domain.topico;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Hash do conteúdo normalizado de um tópico, usado para detectar duplicatas por índice único.
+// Também é chamado pela migração V6, então a normalização não pode mudar sem uma nova migração.
+public final class ConteudoTopico {
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private ConteudoTopico() {
+    }
+
+    public static String hash(String titulo, String mensagem) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalizar(titulo).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalizar(mensagem).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        var normalizado = Normalizer.normalize(texto, Normalizer.Form.NFC);
+        return ESPACOS.matcher(normalizado.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,9 @@
+package com.alura.forumhub.domain.topico;
+
+import java.time.LocalDateTime;
+
+public record DadosCriacaoTopico(
+        String categoria,
+        LocalDateTime dataCriacao
+) {
+}
@@ -0,0 +1,8 @@
+package com.alura.forumhub.domain.topico;
+
+public record DadosIndexacaoTopico(
+        Long id,
+        String titulo,
+        String mensagem
+) {
+}
@@ -1,25 +1,47 @@
 package com.alura.forumhub.domain.topico;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 
 public record DadosListagemTopico(
+        Long id,
         String titulo,
         String mensagem,
         LocalDateTime dataCriacao,
         String status,
         String autor,
         String curso,
-        int respostas
+        long respostas,
+        @JsonIgnore long versao
 ) {
     public DadosListagemTopico(Topico topico) {
         this(
+                topico.getId(),
                 topico.getTitulo(),
                 topico.getMensagem(),
                 topico.getDataCriacao(),
                 topico.getStatus().toString(),
                 topico.getAutor().getNome(),
                 topico.getCurso().getCategoria(),
-                topico.getRespostas().size()
+                topico.getRespostasCount(),
+                topico.getVersao() == null ? 0 : topico.getVersao()
         );
     }
+
+    // Usado pelas projeções JPQL de TopicoRepository
+    public DadosListagemTopico(Long id, String titulo, String mensagem, LocalDateTime dataCriacao,
+                               StatusTopico status, String autor, String curso, Integer respostas, Long versao) {
+        this(id, titulo, mensagem, dataCriacao, status.toString(), autor, curso, respostas, versao);
+    }
+
+    // Projeções sem join em cursos: o curso é preenchido depois com comCurso
+    public DadosListagemTopico(Long id, String titulo, String mensagem, LocalDateTime dataCriacao,
+                               StatusTopico status, String autor, Integer respostas, Long versao) {
+        this(id, titulo, mensagem, dataCriacao, status, autor, null, respostas, versao);
+    }
+
+    public DadosListagemTopico comCurso(String curso) {
+        return new DadosListagemTopico(id, titulo, mensagem, dataCriacao, status, autor, curso, respostas, versao);
+    }
 }
@@ -0,0 +1,55 @@
+package com.alura.forumhub.domain.topico;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Filtro de Bloom na frente de topicos.hash_conteudo: quando responde "não existe",
+// o cadastro dispensa a consulta ao banco. O índice único continua sendo a garantia final.
+@Component
+public class DetectorTopicosDuplicados {
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Value("${forumhub.topicos.duplicidade.capacidade:1000000}")
+    private long capacidade;
+
+    @Value("${forumhub.topicos.duplicidade.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    private FiltroBloom filtro;
+
+    @PostConstruct
+    public void inicializar() {
+        filtro = new FiltroBloom(capacidade, taxaFalsoPositivo);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        try (var hashes = topicoRepository.streamHashesConteudo()) {
+            hashes.forEach(this::registrar);
+        }
+    }
+
+    public boolean talvezExista(String hash) {
+        return filtro.talvezContenha(h1(hash), h2(hash));
+    }
+
+    public void registrar(String hash) {
+        filtro.adicionar(h1(hash), h2(hash));
+    }
+
+    private static long h1(String hash) {
+        return Long.parseUnsignedLong(hash.substring(0, 16), 16);
+    }
+
+    private static long h2(String hash) {
+        return Long.parseUnsignedLong(hash.substring(16, 32), 16);
+    }
+}
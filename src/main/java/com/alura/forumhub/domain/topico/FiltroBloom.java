@@ -0,0 +1,37 @@
+package com.alura.forumhub.domain.topico;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom concorrente. Os índices vêm de double hashing sobre dois longs
+// extraídos do SHA-256 do conteúdo, que já é uniformemente distribuído.
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long tamanho;
+    private final int funcoes;
+
+    FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        var ln2 = Math.log(2);
+        var bitsNecessarios = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+        this.tamanho = Math.max(64, bitsNecessarios);
+        this.funcoes = Math.max(1, (int) Math.round((double) tamanho / capacidade * ln2));
+        this.bits = new AtomicLongArray((int) ((tamanho + 63) / 64));
+    }
+
+    void adicionar(long h1, long h2) {
+        for (int i = 0; i < funcoes; i++) {
+            var posicao = Math.floorMod(h1 + i * h2, tamanho);
+            bits.getAndAccumulate((int) (posicao >>> 6), 1L << (posicao & 63), (atual, mascara) -> atual | mascara);
+        }
+    }
+
+    boolean talvezContenha(long h1, long h2) {
+        for (int i = 0; i < funcoes; i++) {
+            var posicao = Math.floorMod(h1 + i * h2, tamanho);
+            if ((bits.get((int) (posicao >>> 6)) & (1L << (posicao & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.alura.forumhub.domain.topico;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Corrige periodicamente topicos.respostas_count caso tenha divergido da tabela de respostas.
+// Cada faixa de ids roda em sua própria transação para não segurar locks na tabela inteira.
+@Component
+public class ReconciliacaoContadoresRespostas {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliacaoContadoresRespostas.class);
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Value("${forumhub.respostas.reconciliacao.tamanho-lote:1000}")
+    private long tamanhoLote;
+
+    @Scheduled(cron = "${forumhub.respostas.reconciliacao.cron:0 0 4 * * *}")
+    public void reconciliar() {
+        var maxId = topicoRepository.findMaxId().orElse(0L);
+        var corrigidos = 0;
+
+        for (long inicio = 1; inicio <= maxId; inicio += tamanhoLote) {
+            corrigidos += topicoRepository.reconciliarContadoresRespostas(inicio, inicio + tamanhoLote - 1);
+        }
+
+        if (corrigidos > 0) {
+            log.info("Reconciliação de respostas_count corrigiu {} tópicos", corrigidos);
+        }
+    }
+}
@@ -3,5 +3,12 @@ package com.alura.forumhub.domain.topico;
 public enum StatusTopico {
     NAO_RESPONDIDO,
     NAO_SOLUCIONADO,
-    SOLUCIONADO
+    SOLUCIONADO;
+
+    public static StatusTopico para(long respostas, long solucoes) {
+        if (solucoes > 0) {
+            return SOLUCIONADO;
+        }
+        return respostas > 0 ? NAO_SOLUCIONADO : NAO_RESPONDIDO;
+    }
 }
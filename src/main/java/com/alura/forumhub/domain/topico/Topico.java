@@ -10,7 +10,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Table(name = "topicos")
+@Table(name = "topicos", uniqueConstraints = @UniqueConstraint(
+        name = Topico.INDICE_HASH_CONTEUDO, columnNames = "hash_conteudo"))
 @Entity(name = "Topico")
 @Getter
 @Setter
@@ -19,8 +20,14 @@ import java.util.List;
 @EqualsAndHashCode(of = "id")
 public class Topico {
 
+    // Mesmo nome do índice criado pela V6
+    public static final String INDICE_HASH_CONTEUDO = "uk_topicos_hash_conteudo";
+
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "topicos_id")
+    @TableGenerator(name = "topicos_id", table = "id_geradores", pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "topicos", allocationSize = 100)
     private Long id;
 
     @NotBlank
@@ -52,13 +59,38 @@ public class Topico {
     @Column(nullable = false)
     private Boolean ativo = true;
 
+    // Só mudam pelos UPDATEs atômicos de TopicoRepository, que não versionam: fora do UPDATE da
+    // entidade, para um PUT ou DELETE não regravar um valor lido antes de uma resposta concorrente
+    @Column(name = "respostas_count", nullable = false, updatable = false)
+    private Integer respostasCount = 0;
+
+    @Column(name = "ultima_atividade", updatable = false)
+    private LocalDateTime ultimaAtividade;
+
+    @Column(name = "hash_conteudo", length = 64)
+    private String hashConteudo;
+
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    // Id do tópico no fórum de origem, preenchido pela importação em lote
+    @Column(name = "origem_id", length = 100, unique = true)
+    private String origemId;
+
+    // Início da carência do arquivamento (ArquivamentoTopicos)
+    @Column(name = "data_exclusao")
+    private LocalDateTime dataExclusao;
+
 
     public Topico(DadosCadastroTopico dados, Usuario autor, Curso curso) {
        // this.ativo = true;
         this.titulo = dados.titulo();
         this.mensagem = dados.mensagem();
+        this.hashConteudo = ConteudoTopico.hash(titulo, mensagem);
         this.dataCriacao = LocalDateTime.now();
         this.status = StatusTopico.NAO_RESPONDIDO;
+        this.ultimaAtividade = this.dataCriacao;
         this.autor = autor;
         this.curso = curso;
     }
@@ -66,10 +98,12 @@ public class Topico {
     public void atualizarInformacoes(DadosAtualizacaoTopico dados) {
         this.titulo = dados.titulo();
         this.mensagem = dados.mensagem();
+        this.hashConteudo = ConteudoTopico.hash(titulo, mensagem);
     }
 
     public void excluir() {
         this.ativo = false;
+        this.dataExclusao = LocalDateTime.now();
     }
 
 }
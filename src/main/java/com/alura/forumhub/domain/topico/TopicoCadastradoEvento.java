@@ -0,0 +1,12 @@
+package com.alura.forumhub.domain.topico;
+
+import java.time.LocalDateTime;
+
+public record TopicoCadastradoEvento(
+        Long id,
+        String titulo,
+        String mensagem,
+        String categoria,
+        LocalDateTime dataCriacao
+) {
+}
@@ -0,0 +1,11 @@
+package com.alura.forumhub.domain.topico;
+
+import java.time.LocalDateTime;
+
+public record TopicoExcluidoEvento(
+        Long id,
+        String categoria,
+        LocalDateTime dataCriacao,
+        int respostas
+) {
+}
@@ -1,29 +1,229 @@
 package com.alura.forumhub.domain.topico;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TopicoRepository extends JpaRepository<Topico, Long> {
 
-    boolean existsByTituloAndMensagem(String titulo, String mensagem);
+    boolean existsByHashConteudo(String hashConteudo);
 
-    Page<Topico> findByAtivoTrue(Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.hashConteudo from Topico t where t.hashConteudo is not null")
+    Stream<String> streamHashesConteudo();
 
+    // Autor e curso no mesmo SELECT: detalhar, atualizar e excluir usam os dois.
+    // Sem readOnly, para ir ao primário: detalhar guarda o resultado no cache de detalhes por todo o TTL,
+    // e o que viesse de uma réplica atrasada ficaria lá (com o ETag antigo) depois da invalidação
+    @Transactional
+    @EntityGraph(attributePaths = {"autor", "curso"})
     Optional<Topico> findByIdAndAtivoTrue(Long id);
 
-    Page<Topico> findByCursoNomeAndDataCriacaoBetweenAndAtivoTrue(
-            String cursoNome,
-            LocalDateTime inicio,
-            LocalDateTime fim,
+    @Query("select t.respostasCount from Topico t where t.id = :id")
+    int findRespostasCountById(@Param("id") Long id);
+
+    // Consulta barata para responder If-None-Match sem montar o DTO
+    @Transactional(readOnly = true)
+    @Query("select t.versao from Topico t where t.id = :id and t.ativo = true")
+    Optional<Long> findVersaoByIdAndAtivoTrue(@Param("id") Long id);
+
+    // Projeções da listagem: autor, categoria e contador de respostas em um único SELECT
+    @Query(value = """
+            select new com.alura.forumhub.domain.topico.DadosListagemTopico(
+                t.id, t.titulo, t.mensagem, t.dataCriacao, t.status, a.nome, c.categoria, t.respostasCount, t.versao)
+            from Topico t
+            join t.autor a
+            join t.curso c
+            where t.ativo = true
+            """,
+            countQuery = "select count(t) from Topico t where t.ativo = true")
+    Page<DadosListagemTopico> findListagemByAtivoTrue(Pageable pageable);
+
+    // Filtro por curso pelo índice (curso_id, ativo, data_criacao), com período semiaberto [inicio, fim).
+    // Não junta cursos: a categoria vem do CatalogoCursos (DadosListagemTopico.comCurso)
+    @Query(value = """
+            select new com.alura.forumhub.domain.topico.DadosListagemTopico(
+                t.id, t.titulo, t.mensagem, t.dataCriacao, t.status, a.nome, t.respostasCount, t.versao)
+            from Topico t
+            join t.autor a
+            where t.curso.id = :cursoId
+              and t.ativo = true
+              and t.dataCriacao >= :inicio and t.dataCriacao < :fim
+            """,
+            countQuery = """
+            select count(t) from Topico t
+            where t.curso.id = :cursoId
+              and t.ativo = true
+              and t.dataCriacao >= :inicio and t.dataCriacao < :fim
+            """)
+    Page<DadosListagemTopico> findListagemByCursoIdAndPeriodo(
+            @Param("cursoId") Long cursoId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
             Pageable pageable
     );
 
-    long countByCursoCategoria(String categoria);
-    long countByCursoCategoriaAndDataCriacaoAfter(String categoria, LocalDateTime dataLimite);
+    // Paginação keyset por (dataCriacao, id): custo constante em qualquer profundidade
+    @Query("""
+            select new com.alura.forumhub.domain.topico.DadosListagemTopico(
+                t.id, t.titulo, t.mensagem, t.dataCriacao, t.status, a.nome, c.categoria, t.respostasCount, t.versao)
+            from Topico t
+            join t.autor a
+            join t.curso c
+            where t.ativo = true
+            order by t.dataCriacao, t.id
+            """)
+    List<DadosListagemTopico> findListagemAtivosPorCursor(Limit limite);
+
+    @Query("""
+            select new com.alura.forumhub.domain.topico.DadosListagemTopico(
+                t.id, t.titulo, t.mensagem, t.dataCriacao, t.status, a.nome, c.categoria, t.respostasCount, t.versao)
+            from Topico t
+            join t.autor a
+            join t.curso c
+            where t.ativo = true
+              and (t.dataCriacao > :data or (t.dataCriacao = :data and t.id > :id))
+            order by t.dataCriacao, t.id
+            """)
+    List<DadosListagemTopico> findListagemAtivosAposCursor(
+            @Param("data") LocalDateTime data,
+            @Param("id") Long id,
+            Limit limite
+    );
+
+    // Keyset dentro do curso e do período [inicio, fim), pelo mesmo índice de findListagemByCursoIdAndPeriodo.
+    // A primeira página usa (inicio, 0) como posição: nenhum id é menor que 1
+    @Query("""
+            select new com.alura.forumhub.domain.topico.DadosListagemTopico(
+                t.id, t.titulo, t.mensagem, t.dataCriacao, t.status, a.nome, t.respostasCount, t.versao)
+            from Topico t
+            join t.autor a
+            where t.curso.id = :cursoId
+              and t.ativo = true
+              and (t.dataCriacao > :data or (t.dataCriacao = :data and t.id > :id))
+              and t.dataCriacao < :fim
+            order by t.dataCriacao, t.id
+            """)
+    List<DadosListagemTopico> findListagemByCursoIdAposCursor(
+            @Param("cursoId") Long cursoId,
+            @Param("data") LocalDateTime data,
+            @Param("id") Long id,
+            @Param("fim") LocalDateTime fim,
+            Limit limite
+    );
+
+    @Query("""
+            select new com.alura.forumhub.domain.topico.DadosListagemTopico(
+                t.id, t.titulo, t.mensagem, t.dataCriacao, t.status, a.nome, c.categoria, t.respostasCount, t.versao)
+            from Topico t
+            join t.autor a
+            join t.curso c
+            where t.id in :ids and t.ativo = true
+            """)
+    List<DadosListagemTopico> findListagemByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Leitura em streaming para montar o índice de busca sem materializar a tabela
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.alura.forumhub.domain.topico.DadosIndexacaoTopico(t.id, t.titulo, t.mensagem)
+            from Topico t
+            where t.ativo = true
+            """)
+    Stream<DadosIndexacaoTopico> streamIndexacaoAtivos();
+
+    // Exportação: cursor único e somente leitura, com autor e curso no mesmo SELECT
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t from Topico t
+            join fetch t.autor
+            join fetch t.curso c
+            where (:cursoNome is null or c.nome = :cursoNome)
+              and (:inicio is null or t.dataCriacao >= :inicio)
+              and (:fim is null or t.dataCriacao < :fim)
+              and (:ativo is null or t.ativo = :ativo)
+            order by t.id
+            """)
+    Stream<Topico> streamExportacao(
+            @Param("cursoNome") String cursoNome,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("ativo") Boolean ativo
+    );
+
+    // Atualizações atômicas do contador desnormalizado, sem carregar a coleção de respostas.
+    // Não mexem em versao: o contador não faz parte do detalhe nem do If-Match de um PUT
+    @Transactional
+    @Modifying
+    @Query("""
+            update Topico t
+            set t.respostasCount = t.respostasCount + 1, t.ultimaAtividade = :agora
+            where t.id = :id
+            """)
+    int incrementarRespostas(@Param("id") Long id, @Param("agora") LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Topico t
+            set t.respostasCount = t.respostasCount - 1
+            where t.id = :id and t.respostasCount > 0
+            """)
+    int decrementarRespostas(@Param("id") Long id);
+
+    @Query("select t.id from Topico t where t.origemId = :origemId")
+    Optional<Long> findIdByOrigemId(@Param("origemId") String origemId);
+
+    // Um UPDATE por status de destino; só toca (e versiona) os tópicos cujo status muda
+    @Transactional
+    @Modifying
+    @Query("""
+            update Topico t
+            set t.status = :status, t.versao = t.versao + 1
+            where t.id in :ids and t.status <> :status
+            """)
+    int atualizarStatus(@Param("ids") Collection<Long> ids, @Param("status") StatusTopico status);
+
+    @Query("select max(t.id) from Topico t")
+    Optional<Long> findMaxId();
+
+    // Recalcula apenas os contadores divergentes dentro da faixa de ids.
+    // O native space limita a invalidação a topicos; sem ele o Hibernate esvazia o cache de segundo nível inteiro
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos"))
+    @Query(value = """
+            update topicos t
+            set respostas_count = (select count(*) from respostas r where r.topico_id = t.id)
+            where t.id between :inicio and :fim
+              and t.respostas_count <> (select count(*) from respostas r where r.topico_id = t.id)
+            """, nativeQuery = true)
+    int reconciliarContadoresRespostas(@Param("inicio") Long inicio, @Param("fim") Long fim);
+
+    @Query("""
+            select new com.alura.forumhub.domain.topico.DadosCriacaoTopico(c.categoria, t.dataCriacao)
+            from Topico t
+            join t.curso c
+            where t.ativo = true and t.dataCriacao >= :limite
+            """)
+    List<DadosCriacaoTopico> findCriacoesAtivasDesde(@Param("limite") LocalDateTime limite);
 }
 
 
@@ -0,0 +1,141 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import com.alura.forumhub.domain.topico.CacheDetalhesTopicos;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Move tópicos excluídos há mais que a carência (e suas respostas) para topicos_arquivo/respostas_arquivo.
+// Cada lote é uma transação curta que também grava o checkpoint; entre lotes há uma pausa
+// para não disputar I/O e locks com o tráfego normal. Os lotes rodam em um executor próprio:
+// o @Scheduled só dispara a execução e devolve a thread do agendador aos outros jobs.
+@Component
+public class ArquivamentoTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoTopicos.class);
+
+    @Autowired
+    private TopicoArquivadoRepository topicoArquivadoRepository;
+
+    @Autowired
+    private ProgressoArquivamentoRepository progressoRepository;
+
+    @Autowired
+    private CacheDetalhesTopicos cacheDetalhesTopicos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forumhub.topicos.arquivamento.carencia:30d}")
+    private Duration carencia;
+
+    @Value("${forumhub.topicos.arquivamento.tamanho-lote:200}")
+    private int tamanhoLote;
+
+    @Value("${forumhub.topicos.arquivamento.pausa:500ms}")
+    private Duration pausa;
+
+    private final AtomicBoolean executando = new AtomicBoolean();
+    private TransactionTemplate transacao;
+    private Counter arquivados;
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void iniciar() {
+        transacao = new TransactionTemplate(transactionManager);
+        arquivados = Counter.builder("forumhub.topicos.arquivados")
+                .description("Tópicos movidos para topicos_arquivo")
+                .register(meterRegistry);
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("arquivamento-topicos").daemon().factory());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${forumhub.topicos.arquivamento.cron:0 30 3 * * *}")
+    public void arquivar() {
+        executar();
+    }
+
+    // Completa com o total de tópicos arquivados; se já houver uma execução em andamento, não faz nada
+    CompletableFuture<Integer> executar() {
+        if (!executando.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(0);
+        }
+        var resultado = new CompletableFuture<Integer>();
+        var excluidosAte = LocalDateTime.now().minus(carencia);
+        executor.execute(() -> proximoLote(excluidosAte, 0, resultado));
+        return resultado;
+    }
+
+    // Um lote por tarefa; o próximo é agendado depois da pausa, em vez de dormir entre eles
+    private void proximoLote(LocalDateTime excluidosAte, int anteriores, CompletableFuture<Integer> resultado) {
+        try {
+            var lote = transacao.execute(status -> arquivarLote(excluidosAte));
+            if (lote.isEmpty()) {
+                if (anteriores > 0) {
+                    log.info("Arquivamento moveu {} tópicos excluídos antes de {}", anteriores, excluidosAte);
+                }
+                executando.set(false);
+                resultado.complete(anteriores);
+                return;
+            }
+
+            cacheDetalhesTopicos.invalidar(lote);
+            arquivados.increment(lote.size());
+            var total = anteriores + lote.size();
+            executor.schedule(() -> proximoLote(excluidosAte, total, resultado), pausa.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            log.error("Arquivamento interrompido depois de {} tópicos", anteriores, e);
+            executando.set(false);
+            resultado.completeExceptionally(e);
+        }
+    }
+
+    private List<Long> arquivarLote(LocalDateTime excluidosAte) {
+        // A linha é semeada pela V12; criá-la aqui correria contra outra instância fazendo o mesmo
+        var progresso = progressoRepository.travar()
+                .orElseThrow(() -> new IllegalStateException(
+                        "Linha de progresso do arquivamento ausente em arquivamento_progresso."));
+
+        var ids = topicoArquivadoRepository.findIdsParaArquivar(
+                progresso.getUltimoId(), excluidosAte, Limit.of(tamanhoLote));
+        if (ids.isEmpty()) {
+            progresso.concluir();
+            return ids;
+        }
+
+        var agora = LocalDateTime.now();
+        topicoArquivadoRepository.copiarTopicos(ids, agora);
+        topicoArquivadoRepository.copiarRespostas(ids, agora);
+        topicoArquivadoRepository.excluirRespostas(ids);
+        topicoArquivadoRepository.excluirTopicos(ids);
+        progresso.registrarLote(ids.getLast(), ids.size());
+        return ids;
+    }
+}
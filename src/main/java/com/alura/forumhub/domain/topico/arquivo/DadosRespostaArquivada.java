@@ -0,0 +1,11 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import java.time.LocalDateTime;
+
+public record DadosRespostaArquivada(
+        Long id,
+        String mensagem,
+        String autor,
+        Boolean solucao,
+        LocalDateTime dataCriacao
+) {}
@@ -0,0 +1,17 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DadosTopicoArquivado(
+        Long id,
+        String titulo,
+        String mensagem,
+        String nomeAutor,
+        String nomeCurso,
+        LocalDateTime dataCriacao,
+        String status,
+        LocalDateTime dataExclusao,
+        LocalDateTime arquivadoEm,
+        List<DadosRespostaArquivada> respostas
+) {}
@@ -0,0 +1,42 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Checkpoint do arquivamento, gravado na mesma transação de cada lote: após um restart,
+// a execução continua depois de ultimoId em vez de varrer de novo os tópicos ainda na carência
+@Entity(name = "ProgressoArquivamento")
+@Table(name = "arquivamento_progresso")
+@Getter
+@NoArgsConstructor
+public class ProgressoArquivamento {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id = ID;
+
+    @Column(name = "ultimo_id", nullable = false)
+    private long ultimoId;
+
+    @Column(name = "topicos_arquivados", nullable = false)
+    private long topicosArquivados;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm = LocalDateTime.now();
+
+    public void registrarLote(long ultimoId, int topicos) {
+        this.ultimoId = ultimoId;
+        this.topicosArquivados += topicos;
+        this.atualizadoEm = LocalDateTime.now();
+    }
+
+    // Fim da varredura: a próxima execução recomeça do início
+    public void concluir() {
+        this.ultimoId = 0;
+        this.atualizadoEm = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,16 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ProgressoArquivamentoRepository extends JpaRepository<ProgressoArquivamento, Integer> {
+
+    // O lock na linha do checkpoint serializa os lotes quando há mais de uma instância da aplicação
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from ProgressoArquivamento p where p.id = " + ProgressoArquivamento.ID)
+    Optional<ProgressoArquivamento> travar();
+}
@@ -0,0 +1,38 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity(name = "RespostaArquivada")
+@Table(name = "respostas_arquivo")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class RespostaArquivada {
+
+    @Id
+    private Long id;
+
+    @Column(columnDefinition = "TEXT")
+    private String mensagem;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    private Boolean solucao;
+
+    @Column(name = "topico_id")
+    private Long topicoId;
+
+    @Column(name = "autor_id")
+    private Long autorId;
+
+    private Long versao;
+
+    @Column(name = "arquivado_em")
+    private LocalDateTime arquivadoEm;
+}
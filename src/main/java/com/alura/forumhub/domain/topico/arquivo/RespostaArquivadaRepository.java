@@ -0,0 +1,10 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface RespostaArquivadaRepository extends JpaRepository<RespostaArquivada, Long> {
+
+    List<RespostaArquivada> findByTopicoIdOrderBySolucaoDescDataCriacaoAscIdAsc(Long topicoId);
+}
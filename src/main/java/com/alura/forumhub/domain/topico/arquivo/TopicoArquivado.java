@@ -0,0 +1,58 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import com.alura.forumhub.domain.topico.StatusTopico;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Somente leitura: as linhas são copiadas de topicos pelo ArquivamentoTopicos
+@Entity(name = "TopicoArquivado")
+@Table(name = "topicos_arquivo")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class TopicoArquivado {
+
+    @Id
+    private Long id;
+
+    private String titulo;
+
+    @Column(columnDefinition = "TEXT")
+    private String mensagem;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Enumerated(EnumType.STRING)
+    private StatusTopico status;
+
+    @Column(name = "autor_id")
+    private Long autorId;
+
+    @Column(name = "curso_id")
+    private Long cursoId;
+
+    @Column(name = "respostas_count")
+    private Integer respostasCount;
+
+    @Column(name = "ultima_atividade")
+    private LocalDateTime ultimaAtividade;
+
+    @Column(name = "hash_conteudo", length = 64)
+    private String hashConteudo;
+
+    private Long versao;
+
+    @Column(name = "origem_id", length = 100)
+    private String origemId;
+
+    @Column(name = "data_exclusao")
+    private LocalDateTime dataExclusao;
+
+    @Column(name = "arquivado_em")
+    private LocalDateTime arquivadoEm;
+}
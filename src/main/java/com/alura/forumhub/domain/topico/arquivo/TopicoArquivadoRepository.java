@@ -0,0 +1,65 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Consultas do arquivamento: chamadas dentro da transação de cada lote do ArquivamentoTopicos.
+// Os native spaces evitam que cada comando nativo esvazie o cache de segundo nível inteiro
+public interface TopicoArquivadoRepository extends JpaRepository<TopicoArquivado, Long> {
+
+    // Percorre o índice (ativo, id, data_exclusao) a partir do checkpoint
+    @Query("""
+            select t.id from Topico t
+            where t.ativo = false and t.id > :aposId and t.dataExclusao < :excluidosAte
+            order by t.id
+            """)
+    List<Long> findIdsParaArquivar(
+            @Param("aposId") Long aposId,
+            @Param("excluidosAte") LocalDateTime excluidosAte,
+            Limit limite
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos_arquivo"))
+    @Query(value = """
+            insert into topicos_arquivo (id, titulo, mensagem, data_criacao, status, autor_id, curso_id,
+                                         respostas_count, ultima_atividade, hash_conteudo, versao, origem_id,
+                                         data_exclusao, arquivado_em)
+            select id, titulo, mensagem, data_criacao, status, autor_id, curso_id,
+                   respostas_count, ultima_atividade, hash_conteudo, versao, origem_id,
+                   data_exclusao, :agora
+            from topicos
+            where id in (:ids) and ativo = false
+            """, nativeQuery = true)
+    int copiarTopicos(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "respostas_arquivo"))
+    @Query(value = """
+            insert into respostas_arquivo (id, mensagem, data_criacao, solucao, topico_id, autor_id, versao, arquivado_em)
+            select id, mensagem, data_criacao, solucao, topico_id, autor_id, versao, :agora
+            from respostas
+            where topico_id in (:ids)
+            """, nativeQuery = true)
+    int copiarRespostas(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "respostas"))
+    @Query(value = "delete from respostas where topico_id in (:ids)", nativeQuery = true)
+    int excluirRespostas(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos"))
+    @Query(value = "delete from topicos where id in (:ids) and ativo = false", nativeQuery = true)
+    int excluirTopicos(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,155 @@
+package com.alura.forumhub.domain.topico.busca;
+
+import com.alura.forumhub.domain.topico.TopicoAtualizadoEvento;
+import com.alura.forumhub.domain.topico.TopicoCadastradoEvento;
+import com.alura.forumhub.domain.topico.TopicoExcluidoEvento;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Índice invertido em memória sobre título e mensagem dos tópicos ativos, com ranking BM25.
+// É construído na subida lendo a tabela em streaming e mantido pelos eventos de tópico.
+@Service
+public class IndiceBuscaTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaTopicos.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PESO_TITULO = 2;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    private final Map<String, ListaPostagens> postagens = new ConcurrentHashMap<>();
+    private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+    private final AtomicInteger geracoes = new AtomicInteger();
+    private final AtomicLong comprimentoTotal = new AtomicLong();
+
+    // As listas dos termos do documento, para descontar o df quando esta versão sair do índice
+    private record Documento(int geracao, int comprimento, ListaPostagens[] listas) {
+
+        void descartar() {
+            for (var lista : listas) {
+                lista.descartar();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construir() {
+        try (var topicos = topicoRepository.streamIndexacaoAtivos()) {
+            topicos.forEach(t -> indexar(t.id(), t.titulo(), t.mensagem()));
+        }
+        log.info("Índice de busca construído com {} tópicos e {} termos", documentos.size(), postagens.size());
+    }
+
+    public void indexar(Long id, String titulo, String mensagem) {
+        var frequencias = new HashMap<String, Integer>();
+        var comprimento = 0;
+        for (var termo : Tokenizador.tokenizar(titulo)) {
+            frequencias.merge(termo, PESO_TITULO, Integer::sum);
+            comprimento += PESO_TITULO;
+        }
+        for (var termo : Tokenizador.tokenizar(mensagem)) {
+            frequencias.merge(termo, 1, Integer::sum);
+            comprimento++;
+        }
+
+        var geracao = geracoes.incrementAndGet();
+        var listas = new ListaPostagens[frequencias.size()];
+        var i = 0;
+        for (var entrada : frequencias.entrySet()) {
+            var lista = postagens.computeIfAbsent(entrada.getKey(), t -> new ListaPostagens());
+            lista.adicionar(id, geracao, entrada.getValue());
+            listas[i++] = lista;
+        }
+
+        var anterior = documentos.put(id, new Documento(geracao, comprimento, listas));
+        comprimentoTotal.addAndGet(comprimento - (anterior == null ? 0 : anterior.comprimento()));
+        if (anterior != null) {
+            anterior.descartar();
+        }
+    }
+
+    public void remover(Long id) {
+        var anterior = documentos.remove(id);
+        if (anterior != null) {
+            comprimentoTotal.addAndGet(-anterior.comprimento());
+            anterior.descartar();
+        }
+    }
+
+    public List<ResultadoBusca> buscar(String consulta, int limite) {
+        var termos = new LinkedHashSet<>(Tokenizador.tokenizar(consulta));
+        var total = documentos.size();
+        if (termos.isEmpty() || total == 0) {
+            return List.of();
+        }
+
+        var comprimentoMedio = Math.max(1.0, (double) comprimentoTotal.get() / total);
+        var pontuacoes = new HashMap<Long, Double>();
+
+        for (var termo : termos) {
+            var lista = postagens.get(termo);
+            if (lista == null) {
+                continue;
+            }
+
+            // Só os documentos ativos: postagens obsoletas ainda não compactadas não inflam o df
+            var df = Math.min(lista.ativos(), total);
+            if (df <= 0) {
+                continue;
+            }
+            var idf = Math.log(1 + (total - df + 0.5) / (df + 0.5));
+            lista.percorrer((documento, geracao, frequencia) -> {
+                var doc = documentos.get(documento);
+                if (doc == null || doc.geracao() != geracao) {
+                    return false;
+                }
+                var normalizacao = K1 * (1 - B + B * doc.comprimento() / comprimentoMedio);
+                pontuacoes.merge(documento, idf * frequencia * (K1 + 1) / (frequencia + normalizacao), Double::sum);
+                return true;
+            });
+        }
+
+        var melhores = new PriorityQueue<>(Comparator.comparingDouble(ResultadoBusca::relevancia));
+        pontuacoes.forEach((id, relevancia) -> {
+            melhores.offer(new ResultadoBusca(id, relevancia));
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        });
+
+        var resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(ResultadoBusca::relevancia).reversed());
+        return resultado;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCadastrarTopico(TopicoCadastradoEvento evento) {
+        indexar(evento.id(), evento.titulo(), evento.mensagem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAtualizarTopico(TopicoAtualizadoEvento evento) {
+        indexar(evento.id(), evento.titulo(), evento.mensagem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoExcluirTopico(TopicoExcluidoEvento evento) {
+        remover(evento.id());
+    }
+}
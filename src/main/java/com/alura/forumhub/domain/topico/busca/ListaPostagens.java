@@ -0,0 +1,68 @@
+package com.alura.forumhub.domain.topico.busca;
+
+import java.util.Arrays;
+
+// Postagens de um termo em arrays primitivos. Entradas de documentos removidos ou
+// reindexados ficam obsoletas (geração diferente) e são descartadas na próxima compactação;
+// por isso o df do BM25 vem do contador de documentos ativos, e não do tamanho da lista.
+final class ListaPostagens {
+
+    interface Consumidor {
+        // Retorna false quando a postagem está obsoleta
+        boolean aceitar(long documento, int geracao, int frequencia);
+    }
+
+    private long[] documentos = new long[2];
+    private int[] geracoes = new int[2];
+    private int[] frequencias = new int[2];
+    private int tamanho;
+    private int ativos;
+
+    synchronized void adicionar(long documento, int geracao, int frequencia) {
+        if (tamanho == documentos.length) {
+            var capacidade = tamanho * 2;
+            documentos = Arrays.copyOf(documentos, capacidade);
+            geracoes = Arrays.copyOf(geracoes, capacidade);
+            frequencias = Arrays.copyOf(frequencias, capacidade);
+        }
+        documentos[tamanho] = documento;
+        geracoes[tamanho] = geracao;
+        frequencias[tamanho] = frequencia;
+        tamanho++;
+        ativos++;
+    }
+
+    // Chamado quando a versão do documento que gerou uma postagem é substituída ou removida
+    synchronized void descartar() {
+        ativos--;
+    }
+
+    synchronized int ativos() {
+        return ativos;
+    }
+
+    // Percorre as postagens e compacta a lista se mais da metade estiver obsoleta
+    synchronized void percorrer(Consumidor consumidor) {
+        var obsoletas = 0;
+        var validas = new boolean[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            validas[i] = consumidor.aceitar(documentos[i], geracoes[i], frequencias[i]);
+            if (!validas[i]) {
+                obsoletas++;
+            }
+        }
+
+        if (obsoletas > 0 && obsoletas * 2 >= tamanho) {
+            var destino = 0;
+            for (int i = 0; i < tamanho; i++) {
+                if (validas[i]) {
+                    documentos[destino] = documentos[i];
+                    geracoes[destino] = geracoes[i];
+                    frequencias[destino] = frequencias[i];
+                    destino++;
+                }
+            }
+            tamanho = destino;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.alura.forumhub.domain.topico.busca;
+
+public record ResultadoBusca(
+        Long id,
+        double relevancia
+) {
+}
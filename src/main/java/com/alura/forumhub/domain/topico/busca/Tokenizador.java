@@ -0,0 +1,43 @@
+package com.alura.forumhub.domain.topico.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Quebra o texto em termos: remove acentos, passa para minúsculas e descarta stopwords do português
+final class Tokenizador {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+            "um", "uma", "uns", "umas", "para", "pra", "por", "com", "sem", "que", "se", "ao", "aos",
+            "ou", "mas", "como", "meu", "minha", "isso", "esse", "essa", "este", "esta", "nao"
+    );
+
+    private Tokenizador() {
+    }
+
+    static List<String> tokenizar(String texto) {
+        var termos = new ArrayList<String>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+
+        var normalizado = MARCAS_DIACRITICAS
+                .matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        for (var termo : SEPARADORES.split(normalizado)) {
+            if (termo.length() > 1 && !STOPWORDS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+}
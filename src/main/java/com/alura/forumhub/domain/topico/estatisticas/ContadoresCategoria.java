@@ -0,0 +1,14 @@
+package com.alura.forumhub.domain.topico.estatisticas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+class ContadoresCategoria {
+
+    final LongAdder topicos = new LongAdder();
+    final LongAdder respostas = new LongAdder();
+    final JanelaHoraria ultimaSemana;
+
+    ContadoresCategoria(int horasJanela) {
+        this.ultimaSemana = new JanelaHoraria(horasJanela);
+    }
+}
@@ -0,0 +1,132 @@
+package com.alura.forumhub.domain.topico.estatisticas;
+
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.RespostaCadastradaEvento;
+import com.alura.forumhub.domain.resposta.RespostaExcluidaEvento;
+import com.alura.forumhub.domain.topico.DadosEstatisticosTopicos;
+import com.alura.forumhub.domain.topico.TopicoCadastradoEvento;
+import com.alura.forumhub.domain.topico.TopicoExcluidoEvento;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Estatísticas por categoria mantidas em memória. São semeadas na subida da aplicação
+// (e de novo ao fim de cada importação) e atualizadas pelos eventos de tópicos e respostas,
+// de modo que GET /topicos/stats não consulta o banco.
+@Service
+public class EstatisticasTopicos {
+
+    private static final int HORAS_SEMANA = 7 * 24;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    private volatile Map<String, ContadoresCategoria> categorias = new ConcurrentHashMap<>();
+
+    // Mapa em construção durante uma recarga: os eventos vão para ele também, senão os que chegassem
+    // entre as consultas de carga e a troca ficariam só no mapa descartado
+    private volatile Map<String, ContadoresCategoria> emRecarga;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        var novas = new ConcurrentHashMap<String, ContadoresCategoria>();
+        var horaAtual = horaAtual();
+        emRecarga = novas;
+        try {
+            for (var contagem : cursoRepository.contarTopicosAtivosPorCategoria()) {
+                var contadores = novas.computeIfAbsent(contagem.getCategoria(), c -> new ContadoresCategoria(HORAS_SEMANA));
+                contadores.topicos.add(contagem.getTopicos());
+                contadores.respostas.add(contagem.getRespostas());
+            }
+
+            for (var criacao : topicoRepository.findCriacoesAtivasDesde(LocalDateTime.now().minusWeeks(1))) {
+                novas.computeIfAbsent(criacao.categoria(), c -> new ContadoresCategoria(HORAS_SEMANA))
+                        .ultimaSemana.registrar(hora(criacao.dataCriacao()), horaAtual, 1);
+            }
+
+            categorias = novas;
+        } finally {
+            emRecarga = null;
+        }
+    }
+
+    public List<DadosEstatisticosTopicos> listar() {
+        var horaAtual = horaAtual();
+        return categorias.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(e -> new DadosEstatisticosTopicos(
+                        e.getKey(),
+                        e.getValue().topicos.sum(),
+                        e.getValue().ultimaSemana.somar(horaAtual),
+                        e.getValue().respostas.sum()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCadastrarTopico(TopicoCadastradoEvento evento) {
+        atualizar(evento.categoria(), contadores -> {
+            contadores.topicos.increment();
+            contadores.ultimaSemana.registrar(hora(evento.dataCriacao()), horaAtual(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoExcluirTopico(TopicoExcluidoEvento evento) {
+        atualizar(evento.categoria(), contadores -> {
+            contadores.topicos.decrement();
+            contadores.respostas.add(-evento.respostas());
+            contadores.ultimaSemana.registrar(hora(evento.dataCriacao()), horaAtual(), -1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCadastrarResposta(RespostaCadastradaEvento evento) {
+        if (evento.topicoAtivo()) {
+            atualizar(evento.categoria(), contadores -> contadores.respostas.increment());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoExcluirResposta(RespostaExcluidaEvento evento) {
+        // As respostas de um tópico excluído já saíram da contagem em aoExcluirTopico
+        if (evento.topicoAtivo()) {
+            atualizar(evento.categoria(), contadores -> contadores.respostas.decrement());
+        }
+    }
+
+    // Lê emRecarga antes de categorias: se a troca acontecer no meio, os dois apontam para o mapa novo
+    private void atualizar(String categoria, Consumer<ContadoresCategoria> atualizacao) {
+        if (categoria == null) {
+            return;
+        }
+        var recarga = emRecarga;
+        var atuais = categorias;
+        atualizacao.accept(atuais.computeIfAbsent(categoria, c -> new ContadoresCategoria(HORAS_SEMANA)));
+        if (recarga != null && recarga != atuais) {
+            atualizacao.accept(recarga.computeIfAbsent(categoria, c -> new ContadoresCategoria(HORAS_SEMANA)));
+        }
+    }
+
+    private static long hora(LocalDateTime data) {
+        return data.atZone(ZoneId.systemDefault()).toEpochSecond() / 3600;
+    }
+
+    private static long horaAtual() {
+        return Instant.now().getEpochSecond() / 3600;
+    }
+}
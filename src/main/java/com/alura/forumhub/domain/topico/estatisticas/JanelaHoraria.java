@@ -0,0 +1,53 @@
+package com.alura.forumhub.domain.topico.estatisticas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Janela deslizante em baldes de uma hora. Cada slot guarda, em um único long,
+// a hora (epoch) a que pertence e a contagem, o que permite atualizar via CAS
+// sem perder incrementos quando um slot é reaproveitado por uma hora nova.
+class JanelaHoraria {
+
+    private static final int BITS_CONTAGEM = 24;
+    private static final long MASCARA_CONTAGEM = (1L << BITS_CONTAGEM) - 1;
+
+    private final int horas;
+    private final AtomicLongArray slots;
+
+    JanelaHoraria(int horas) {
+        this.horas = horas;
+        this.slots = new AtomicLongArray(horas);
+    }
+
+    void registrar(long hora, long horaAtual, long delta) {
+        if (hora <= horaAtual - horas || hora > horaAtual) {
+            return;
+        }
+
+        var indice = (int) Math.floorMod(hora, (long) horas);
+        while (true) {
+            var atual = slots.get(indice);
+            var horaSlot = atual >>> BITS_CONTAGEM;
+            if (horaSlot > hora) {
+                return;
+            }
+
+            var contagem = horaSlot == hora ? atual & MASCARA_CONTAGEM : 0;
+            var nova = Math.max(0, Math.min(MASCARA_CONTAGEM, contagem + delta));
+            if (slots.compareAndSet(indice, atual, (hora << BITS_CONTAGEM) | nova)) {
+                return;
+            }
+        }
+    }
+
+    long somar(long horaAtual) {
+        var total = 0L;
+        for (int i = 0; i < horas; i++) {
+            var valor = slots.get(i);
+            var hora = valor >>> BITS_CONTAGEM;
+            if (hora > horaAtual - horas && hora <= horaAtual) {
+                total += valor & MASCARA_CONTAGEM;
+            }
+        }
+        return total;
+    }
+}
@@ -2,12 +2,13 @@ package com.alura.forumhub.domain.usuario;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AutenticacaoService implements UserDetailsService {
+public class AutenticacaoService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UsuarioRepository usuarioRepository;
@@ -16,4 +17,14 @@ public class AutenticacaoService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return usuarioRepository.findByEmail(username);
     }
+
+    // Chamado pelo DaoAuthenticationProvider após um login válido cujo hash usa outro custo de BCrypt
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        usuarioRepository.atualizarSenha(user.getUsername(), newPassword);
+        if (user instanceof Usuario usuario) {
+            usuario.setSenha(newPassword);
+        }
+        return user;
+    }
 }
@@ -10,12 +10,17 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 @Table(name = "usuarios")
 @Entity(name = "Usuario")
@@ -47,6 +52,7 @@ public class Usuario implements UserDetails {
     private List<Resposta> respostas;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios-perfis")
     @JoinTable(
             name = "usuario_perfis",
             joinColumns = @JoinColumn(name = "usuario_id"),
@@ -57,9 +63,16 @@ public class Usuario implements UserDetails {
     public Usuario(long id, String nome, String email, String number) {
     }
 
+    // Perfis viram papéis (ex.: perfil "admin" -> ROLE_ADMIN); findByEmail já traz a coleção carregada
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var autorizacoes = new ArrayList<GrantedAuthority>();
+        autorizacoes.add(new SimpleGrantedAuthority("ROLE_USER"));
+        if (perfis != null && Hibernate.isInitialized(perfis)) {
+            perfis.forEach(perfil -> autorizacoes.add(
+                    new SimpleGrantedAuthority("ROLE_" + perfil.getNome().toUpperCase(Locale.ROOT))));
+        }
+        return autorizacoes;
     }
 
     @Override
@@ -1,11 +1,33 @@
 package com.alura.forumhub.domain.usuario;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+    @EntityGraph(attributePaths = "perfis")
     UserDetails findByEmail(String email);
     boolean existsByEmail(String email);
 
+    @Transactional
+    @Modifying
+    @Query("update Usuario u set u.senha = :senha where u.email = :email")
+    int atualizarSenha(@Param("email") String email, @Param("senha") String senha);
+
+    @Query("""
+            select new com.alura.forumhub.domain.usuario.DadosListagemUsuario(u.id, u.nome, u.email)
+            from Usuario u
+            where u.id > :id
+            order by u.id
+            """)
+    List<DadosListagemUsuario> findListagemAposId(@Param("id") Long id, Limit limite);
+
 }
 
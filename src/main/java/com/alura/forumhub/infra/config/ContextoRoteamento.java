@@ -0,0 +1,23 @@
+package com.alura.forumhub.infra.config;
+
+// Marca, para a thread da requisição, que as leituras devem ir ao primário
+// (escritas e leituras logo após uma escrita do mesmo cliente).
+final class ContextoRoteamento {
+
+    private static final ThreadLocal<Boolean> SOMENTE_PRIMARIO = new ThreadLocal<>();
+
+    private ContextoRoteamento() {
+    }
+
+    static void exigirPrimario() {
+        SOMENTE_PRIMARIO.set(Boolean.TRUE);
+    }
+
+    static boolean replicaPermitida() {
+        return SOMENTE_PRIMARIO.get() == null;
+    }
+
+    static void limpar() {
+        SOMENTE_PRIMARIO.remove();
+    }
+}
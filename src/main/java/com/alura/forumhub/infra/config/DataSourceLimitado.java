@@ -0,0 +1,99 @@
+package com.alura.forumhub.infra.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Limita quantas conexões podem estar emprestadas ao mesmo tempo. Com threads virtuais não há
+// mais o teto natural do pool do Tomcat, então quem passar do limite espera aqui (sem prender
+// thread de plataforma) em vez de se acumular na fila do Hikari.
+class DataSourceLimitado extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore permissoes;
+    private final long esperaMaximaMillis;
+
+    DataSourceLimitado(DataSource alvo, int maximoConexoes, Duration esperaMaxima) {
+        super(alvo);
+        this.permissoes = new Semaphore(maximoConexoes, true);
+        this.esperaMaximaMillis = esperaMaxima.toMillis();
+    }
+
+    // Mesmo teto e mesma espera do pool embrulhado
+    static DataSourceLimitado de(HikariDataSource hikari) {
+        return new DataSourceLimitado(hikari, hikari.getMaximumPoolSize(), Duration.ofMillis(hikari.getConnectionTimeout()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    // Quem fecha o bean (ou o DataSourceRoteado) enxerga só o embrulho; o pool precisa ser fechado junto
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable fechavel) {
+            fechavel.close();
+        }
+    }
+
+    int permissoesDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(esperaMaximaMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Nenhuma conexão disponível após " + esperaMaximaMillis + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão.", e);
+        }
+    }
+
+    private Connection liberarAoFechar(Connection conexao) {
+        var liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    try {
+                        return metodo.invoke(conexao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (metodo.getName().equals("close") && liberada.compareAndSet(false, true)) {
+                            permissoes.release();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package com.alura.forumhub.infra.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Transações readOnly vão para uma réplica disponível (em rodízio); todo o resto vai para o primário.
+// Precisa estar atrás de um LazyConnectionDataSourceProxy: a conexão só é pedida no primeiro comando,
+// quando a flag readOnly da transação já está publicada.
+class DataSourceRoteado extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARIO = "primario";
+
+    private final Map<String, DataSource> replicas;
+    private final Set<String> disponiveis = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger proxima = new AtomicInteger();
+    private volatile List<String> rodizio = List.of();
+
+    DataSourceRoteado(DataSource primario, Map<String, DataSource> replicas) {
+        this.replicas = Map.copyOf(replicas);
+
+        var alvos = new HashMap<Object, Object>(replicas);
+        alvos.put(PRIMARIO, primario);
+        setTargetDataSources(alvos);
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !ContextoRoteamento.replicaPermitida()) {
+            return PRIMARIO;
+        }
+        var atual = rodizio;
+        if (atual.isEmpty()) {
+            return PRIMARIO;
+        }
+        return atual.get(Math.floorMod(proxima.getAndIncrement(), atual.size()));
+    }
+
+    Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    // Réplicas começam fora do rodízio até a primeira verificação do MonitorReplicas
+    synchronized void marcar(String replica, boolean disponivel) {
+        var mudou = disponivel ? disponiveis.add(replica) : disponiveis.remove(replica);
+        if (mudou) {
+            var novo = new ArrayList<>(disponiveis);
+            novo.sort(null);
+            rodizio = List.copyOf(novo);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (var replica : replicas.values()) {
+            if (replica instanceof AutoCloseable fechavel) {
+                fechavel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.alura.forumhub.infra.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+// Requisições de escrita usam só o primário, e o cliente que acabou de escrever continua no
+// primário durante a janela configurada, para ler o que gravou mesmo com réplicas atrasadas.
+// Registrado depois da cadeia do Spring Security, então o cliente é o usuário autenticado (ou o IP).
+class LeituraAposEscritaFilter extends OncePerRequestFilter {
+
+    private static final Set<String> METODOS_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Cache<String, Boolean> escritasRecentes;
+
+    LeituraAposEscritaFilter(Duration janela) {
+        this.escritasRecentes = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(janela)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var cliente = cliente(request);
+        var leitura = METODOS_LEITURA.contains(request.getMethod());
+        if (!leitura || escritasRecentes.getIfPresent(cliente) != null) {
+            ContextoRoteamento.exigirPrimario();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContextoRoteamento.limpar();
+            if (!leitura && response.getStatus() < 400) {
+                escritasRecentes.put(cliente, Boolean.TRUE);
+            }
+        }
+    }
+
+    private String cliente(HttpServletRequest request) {
+        var autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.isAuthenticated() && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+            return autenticacao.getName();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,82 @@
+package com.alura.forumhub.infra.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Mede o atraso de cada réplica pela linha de replicacao_heartbeat: o primário recebe um carimbo
+// a cada verificação e o atraso é a diferença entre o valor lido no primário e o lido na réplica.
+// Réplica inacessível ou atrasada além do limite sai do rodízio até voltar a responder em dia.
+class MonitorReplicas {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplicas.class);
+
+    private static final String CONSULTA = "select atualizado_em from replicacao_heartbeat where id = 1";
+
+    private final DataSourceRoteado roteado;
+    private final JdbcTemplate primario;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Map<String, Double> atrasos = new ConcurrentHashMap<>();
+    private final long atrasoMaximoMillis;
+
+    MonitorReplicas(DataSourceRoteado roteado, DataSource primario, Duration atrasoMaximo, MeterRegistry meterRegistry) {
+        this.roteado = roteado;
+        this.primario = new JdbcTemplate(primario);
+        this.atrasoMaximoMillis = atrasoMaximo.toMillis();
+
+        var timeout = (int) Math.max(1, atrasoMaximo.toSeconds());
+        roteado.replicas().forEach((chave, dataSource) -> {
+            var jdbc = new JdbcTemplate(dataSource);
+            jdbc.setQueryTimeout(timeout);
+            replicas.put(chave, jdbc);
+            Gauge.builder("forumhub.datasource.replica.atraso", atrasos, a -> a.getOrDefault(chave, Double.NaN))
+                    .description("Atraso da réplica em relação ao primário")
+                    .baseUnit("milliseconds")
+                    .tag("replica", chave)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${forumhub.datasource.replicas.intervalo-verificacao:1s}")
+    public void verificar() {
+        Long referencia;
+        try {
+            referencia = primario.queryForObject(CONSULTA, Long.class);
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível ler o heartbeat do primário; réplicas mantidas como estão", e);
+            return;
+        }
+
+        replicas.forEach((chave, jdbc) -> {
+            var atraso = atraso(chave, jdbc, referencia);
+            if (atraso < 0) {
+                atrasos.remove(chave);
+            } else {
+                atrasos.put(chave, (double) atraso);
+            }
+            roteado.marcar(chave, atraso >= 0 && atraso <= atrasoMaximoMillis);
+        });
+
+        primario.update("update replicacao_heartbeat set atualizado_em = ? where id = 1", System.currentTimeMillis());
+    }
+
+    private long atraso(String chave, JdbcTemplate jdbc, long referencia) {
+        try {
+            var valor = jdbc.queryForObject(CONSULTA, Long.class);
+            return valor == null ? -1 : Math.max(0, referencia - valor);
+        } catch (DataAccessException e) {
+            log.warn("Réplica {} indisponível: {}", chave, e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.alura.forumhub.infra.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+// Ativada quando forumhub.datasource.replicas.urls tem ao menos uma URL. As réplicas reaproveitam
+// driver, usuário e senha de spring.datasource e as opções de spring.datasource.hikari; sem a
+// propriedade, a aplicação usa só o primário.
+@Configuration
+@ConditionalOnProperty("forumhub.datasource.replicas.urls")
+public class RoteamentoDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        var primario = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primario.setPoolName("primario");
+        return primario;
+    }
+
+    @Bean
+    DataSourceRoteado dataSourceRoteado(
+            @Qualifier("dataSourcePrimario") DataSource primario,
+            DataSourceProperties properties,
+            @Value("${forumhub.datasource.replicas.urls}") List<String> urls,
+            MeterRegistry meterRegistry,
+            Environment environment
+    ) {
+        var opcoesHikari = Binder.get(environment);
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (var url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            var replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url.strip()).build();
+            // Só o pool do primário é bean: tamanho, timeouts, Micrometer e o limitador das threads
+            // virtuais (ThreadsVirtuaisConfiguration) precisam ser aplicados às réplicas aqui
+            opcoesHikari.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(),
+                    Threading.VIRTUAL.isActive(environment) ? DataSourceLimitado.de(replica) : replica);
+        }
+        return new DataSourceRoteado(primario, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceRoteado dataSourceRoteado) {
+        return new LazyConnectionDataSourceProxy(dataSourceRoteado);
+    }
+
+    @Bean
+    MonitorReplicas monitorReplicas(
+            DataSourceRoteado dataSourceRoteado,
+            @Qualifier("dataSourcePrimario") DataSource primario,
+            @Value("${forumhub.datasource.replicas.atraso-maximo:5s}") Duration atrasoMaximo,
+            MeterRegistry meterRegistry
+    ) {
+        return new MonitorReplicas(dataSourceRoteado, primario, atrasoMaximo, meterRegistry);
+    }
+
+    @Bean
+    LeituraAposEscritaFilter leituraAposEscritaFilter(
+            @Value("${forumhub.datasource.replicas.janela-leitura-apos-escrita:5s}") Duration janela
+    ) {
+        return new LeituraAposEscritaFilter(janela);
+    }
+}
@@ -0,0 +1,27 @@
+package com.alura.forumhub.infra.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Ativada por spring.threads.virtual.enabled=true, que já coloca Tomcat, @Async e @Scheduled em threads virtuais
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfiguration {
+
+    @Bean
+    public static BeanPostProcessor limitadorDeConexoes() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return DataSourceLimitado.de(hikari);
+                }
+                return bean;
+            }
+        };
+    }
+}
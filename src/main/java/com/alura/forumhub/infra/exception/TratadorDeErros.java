@@ -0,0 +1,32 @@
+package com.alura.forumhub.infra.exception;
+
+import com.alura.forumhub.domain.ValidacaoException;
+import com.alura.forumhub.infra.security.HashSenhaSobrecarregadoException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class TratadorDeErros {
+
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity<String> tratarErroRegraDeNegocio(ValidacaoException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> tratarErroConcorrencia() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body("O recurso foi alterado por outra requisição.");
+    }
+
+    @ExceptionHandler(HashSenhaSobrecarregadoException.class)
+    public ResponseEntity<String> tratarSobrecargaHashSenha(HashSenhaSobrecarregadoException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ex.getMessage());
+    }
+}
@@ -0,0 +1,57 @@
+package com.alura.forumhub.infra.http;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// ETags derivados da coluna @Version: forte para um recurso, fraco para uma página de listagem
+public final class ETagVersao {
+
+    private ETagVersao() {
+    }
+
+    public static String forte(Long versao) {
+        return "\"" + (versao == null ? 0 : versao) + "\"";
+    }
+
+    // Combina (id, versão) de cada item e o total: muda quando qualquer item da página muda,
+    // entra ou sai, e não só quando a maior versão aumenta. Campos exibidos que não versionam
+    // (ex.: contador de respostas) entram como componentes extras
+    @SafeVarargs
+    public static <T> String fraca(List<T> itens, long total, ToLongFunction<T> id, ToLongFunction<T>... versao) {
+        var hash = total;
+        for (var item : itens) {
+            hash = 31 * hash + id.applyAsLong(item);
+            for (var componente : versao) {
+                hash = 31 * hash + componente.applyAsLong(item);
+            }
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    // If-None-Match usa comparação fraca: W/"3" casa com "3"
+    public static boolean correspondeNaoModificado(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        var valor = semPrefixoFraco(etag);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidato -> candidato.equals("*") || semPrefixoFraco(candidato).equals(valor));
+    }
+
+    // If-Match usa comparação forte; ausência do cabeçalho não impõe pré-condição
+    public static boolean atendePreCondicao(String ifMatch, Long versao) {
+        if (ifMatch == null) {
+            return true;
+        }
+        var etag = forte(versao);
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidato -> candidato.equals("*") || candidato.equals(etag));
+    }
+
+    private static String semPrefixoFraco(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
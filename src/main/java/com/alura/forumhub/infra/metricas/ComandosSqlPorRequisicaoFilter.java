@@ -0,0 +1,41 @@
+package com.alura.forumhub.infra.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Registra quantos comandos SQL cada requisição executou, com as mesmas tags uri/method do
+// http.server.requests. Fica antes da cadeia do Spring Security para incluir a carga do usuário.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ComandosSqlPorRequisicaoFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var comandos = ContadorSql.encerrar();
+            var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("forumhub.http.sql.comandos")
+                    .description("Comandos SQL executados por requisição")
+                    .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                    .tag("method", request.getMethod())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(Metrics.globalRegistry)
+                    .record(comandos);
+        }
+    }
+}
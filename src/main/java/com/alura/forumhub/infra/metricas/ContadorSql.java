@@ -0,0 +1,50 @@
+package com.alura.forumhub.infra.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta os comandos SQL preparados pelo Hibernate na thread atual, entre iniciar() e encerrar().
+// Instanciado pelo próprio Hibernate (hibernate.session_factory.statement_inspector), por isso o estado é estático.
+// Contagens podem ser aninhadas (o teste em volta do filtro por requisição, por exemplo): cada comando soma em todas.
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+    private static final class Contagem {
+        private final Contagem externa;
+        private int comandos;
+
+        private Contagem(Contagem externa) {
+            this.externa = externa;
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (var contagem = ATUAL.get(); contagem != null; contagem = contagem.externa) {
+            contagem.comandos++;
+        }
+        return sql;
+    }
+
+    public static void iniciar() {
+        ATUAL.set(new Contagem(ATUAL.get()));
+    }
+
+    public static int contados() {
+        var contagem = ATUAL.get();
+        return contagem == null ? 0 : contagem.comandos;
+    }
+
+    public static int encerrar() {
+        var contagem = ATUAL.get();
+        if (contagem == null) {
+            return 0;
+        }
+        if (contagem.externa == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(contagem.externa);
+        }
+        return contagem.comandos;
+    }
+}
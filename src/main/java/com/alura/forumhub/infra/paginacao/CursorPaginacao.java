@@ -0,0 +1,103 @@
+package com.alura.forumhub.infra.paginacao;
+
+import com.alura.forumhub.domain.ValidacaoException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Cursores opacos da paginação keyset: a posição do último item retornado, em Base64 URL-safe
+public final class CursorPaginacao {
+
+    public static final int TAMANHO_PADRAO = 10;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    // Menor DATETIME do MySQL: como posição (DATA_INICIAL, 0), fica antes de qualquer item
+    public static final LocalDateTime DATA_INICIAL = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    private static final String SEPARADOR = "|";
+
+    private CursorPaginacao() {
+    }
+
+    public record DataId(LocalDateTime data, Long id) {
+    }
+
+    public record SolucaoDataId(boolean solucao, LocalDateTime data, Long id) {
+    }
+
+    public static int tamanho(Integer solicitado) {
+        if (solicitado == null) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.max(1, Math.min(TAMANHO_MAXIMO, solicitado));
+    }
+
+    // Busca um item a mais para saber se há próxima página
+    public static Limit limite(int tamanho) {
+        return Limit.of(tamanho + 1);
+    }
+
+    public static String codificar(LocalDateTime data, Long id) {
+        return codificar(data + SEPARADOR + id);
+    }
+
+    public static String codificar(boolean solucao, LocalDateTime data, Long id) {
+        return codificar((solucao ? "1" : "0") + SEPARADOR + data + SEPARADOR + id);
+    }
+
+    public static String codificar(Long id) {
+        return codificar(String.valueOf(id));
+    }
+
+    public static DataId decodificarDataId(String cursor) {
+        return dataId(decodificar(cursor));
+    }
+
+    public static SolucaoDataId decodificarSolucaoDataId(String cursor) {
+        var valor = decodificar(cursor);
+        if (!valor.startsWith("0" + SEPARADOR) && !valor.startsWith("1" + SEPARADOR)) {
+            throw new ValidacaoException("Cursor inválido.");
+        }
+        var posicao = dataId(valor.substring(2));
+        return new SolucaoDataId(valor.charAt(0) == '1', posicao.data(), posicao.id());
+    }
+
+    public static Long decodificarId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(decodificar(cursor));
+        } catch (NumberFormatException e) {
+            throw new ValidacaoException("Cursor inválido.");
+        }
+    }
+
+    private static DataId dataId(String valor) {
+        var separador = valor.indexOf(SEPARADOR);
+        if (separador < 0) {
+            throw new ValidacaoException("Cursor inválido.");
+        }
+        try {
+            return new DataId(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidacaoException("Cursor inválido.");
+        }
+    }
+
+    private static String codificar(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificar(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidacaoException("Cursor inválido.");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.alura.forumhub.infra.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Token buckets por chave, em listras de ConcurrentHashMap. Cada balde guarda (tokens, instante) num
+// AtomicReference e é atualizado por CAS, sem lock. A reposição é calculada na hora do consumo, então
+// um balde ocioso há tempo suficiente para encher é igual a um balde novo e pode ser descartado.
+final class BaldesDeTokens {
+
+    record Consumo(boolean permitido, long restantes, long segundosParaEsperar, long segundosParaEncher) {
+    }
+
+    private record Estado(double tokens, long instante) {
+    }
+
+    private static final class Balde {
+        private final long capacidade;
+        private final double nanosPorToken;
+        private final AtomicReference<Estado> estado;
+
+        private Balde(long capacidade, Duration periodo, long agora) {
+            this.capacidade = capacidade;
+            this.nanosPorToken = (double) periodo.toNanos() / capacidade;
+            this.estado = new AtomicReference<>(new Estado(capacidade, agora));
+        }
+
+        private double disponiveis(Estado atual, long agora) {
+            return Math.min(capacidade, atual.tokens() + Math.max(0, agora - atual.instante()) / nanosPorToken);
+        }
+
+        private Consumo consumir(long agora) {
+            while (true) {
+                var atual = estado.get();
+                var tokens = disponiveis(atual, agora);
+                if (tokens < 1) {
+                    return new Consumo(false, 0, segundos(1 - tokens), segundos(capacidade - tokens));
+                }
+                if (estado.compareAndSet(atual, new Estado(tokens - 1, agora))) {
+                    return new Consumo(true, (long) (tokens - 1), 0, segundos(capacidade - tokens + 1));
+                }
+            }
+        }
+
+        private boolean cheio(long agora) {
+            return disponiveis(estado.get(), agora) >= capacidade;
+        }
+
+        private long segundos(double tokensFaltando) {
+            return (long) Math.ceil(tokensFaltando * nanosPorToken / TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private final ConcurrentHashMap<String, Balde>[] listras;
+
+    @SuppressWarnings("unchecked")
+    BaldesDeTokens(int quantidadeListras) {
+        listras = new ConcurrentHashMap[quantidadeListras];
+        for (int i = 0; i < quantidadeListras; i++) {
+            listras[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    Consumo consumir(String chave, long capacidade, Duration periodo, long agora) {
+        return listra(chave)
+                .computeIfAbsent(chave, k -> new Balde(capacidade, periodo, agora))
+                .consumir(agora);
+    }
+
+    // Um balde cheio não carrega informação; descartá-lo só custa recriar na próxima requisição
+    // (no pior caso, um consumo concorrente com a remoção é esquecido)
+    int removerOciosos(long agora) {
+        var removidos = 0;
+        for (var listra : listras) {
+            for (var entrada : listra.entrySet()) {
+                if (entrada.getValue().cheio(agora) && listra.remove(entrada.getKey(), entrada.getValue())) {
+                    removidos++;
+                }
+            }
+        }
+        return removidos;
+    }
+
+    int tamanho() {
+        var total = 0;
+        for (var listra : listras) {
+            total += listra.size();
+        }
+        return total;
+    }
+
+    private ConcurrentHashMap<String, Balde> listra(String chave) {
+        var hash = chave.hashCode();
+        return listras[Math.floorMod(hash ^ (hash >>> 16), listras.length)];
+    }
+}
@@ -0,0 +1,52 @@
+package com.alura.forumhub.infra.security;
+
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Cache dos usuários autenticados, indexado pelo subject do JWT (email).
+// Evita um SELECT em usuarios a cada requisição autenticada.
+@Component
+public class CachePrincipais {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.security.principal-cache.tamanho-maximo:10000}")
+    private long tamanhoMaximo;
+
+    @Value("${api.security.principal-cache.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    public void inicializar() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principais");
+    }
+
+    public UserDetails buscar(String email) {
+        return cache.get(email, usuarioRepository::findByEmail);
+    }
+
+    public void invalidar(String email) {
+        cache.invalidate(email);
+    }
+}
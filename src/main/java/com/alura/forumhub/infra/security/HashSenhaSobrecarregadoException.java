@@ -0,0 +1,17 @@
+package com.alura.forumhub.infra.security;
+
+import java.time.Duration;
+
+public class HashSenhaSobrecarregadoException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public HashSenhaSobrecarregadoException(Duration retryAfter) {
+        super("Muitas requisições de autenticação no momento. Tente novamente em instantes.");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
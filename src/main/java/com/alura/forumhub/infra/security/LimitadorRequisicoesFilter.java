@@ -0,0 +1,139 @@
+package com.alura.forumhub.infra.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+// Limita requisições por cliente com token buckets: o usuário autenticado (subject do JWT, por isso
+// roda logo depois do SecurityFilter) ou o IP nas rotas anônimas. Cada rota de forumhub.limite.rotas
+// tem o próprio balde; a primeira regra que casar vale, e o resto cai em forumhub.limite.padrao.
+@Component
+public class LimitadorRequisicoesFilter extends OncePerRequestFilter {
+
+    public record Regra(String metodo, String padrao, long capacidade, Duration periodo) {
+    }
+
+    private record RegraCompilada(String nome, String metodo, PathPattern padrao, long capacidade, Duration periodo) {
+
+        boolean aceita(HttpServletRequest request, PathContainer caminho) {
+            return (metodo == null || metodo.equalsIgnoreCase(request.getMethod())) && padrao.matches(caminho);
+        }
+    }
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${forumhub.limite.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${forumhub.limite.padrao.capacidade:120}")
+    private long capacidadePadrao;
+
+    @Value("${forumhub.limite.padrao.periodo:1m}")
+    private Duration periodoPadrao;
+
+    @Value("${forumhub.limite.listras:64}")
+    private int listras;
+
+    private final PathPatternParser parser = new PathPatternParser();
+    private List<RegraCompilada> regras;
+    private RegraCompilada padrao;
+    private BaldesDeTokens baldes;
+    private Counter rejeitadas;
+
+    @PostConstruct
+    public void iniciar() {
+        regras = Binder.get(environment)
+                .bind("forumhub.limite.rotas", Bindable.listOf(Regra.class))
+                .orElse(List.of())
+                .stream()
+                .map(r -> new RegraCompilada(
+                        (r.metodo() == null ? "" : r.metodo() + " ") + r.padrao(),
+                        r.metodo(), parser.parse(r.padrao()), r.capacidade(), r.periodo()))
+                .toList();
+        padrao = new RegraCompilada("padrao", null, parser.parse("/**"), capacidadePadrao, periodoPadrao);
+        baldes = new BaldesDeTokens(listras);
+        // Registry global: o filtro também é carregado nos testes @WebMvcTest, que não têm MeterRegistry
+        rejeitadas = Counter.builder("forumhub.limite.rejeitadas")
+                .description("Requisições recusadas pelo limitador")
+                .register(Metrics.globalRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var regra = regra(request);
+        var consumo = baldes.consumir(regra.nome() + "|" + cliente(request), regra.capacidade(), regra.periodo(), System.nanoTime());
+
+        response.setHeader("RateLimit-Policy", regra.capacidade() + ";w=" + regra.periodo().toSeconds());
+        response.setHeader("RateLimit-Limit", String.valueOf(regra.capacidade()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(consumo.restantes()));
+        response.setHeader("RateLimit-Reset", String.valueOf(consumo.permitido()
+                ? consumo.segundosParaEncher()
+                : consumo.segundosParaEsperar()));
+
+        if (!consumo.permitido()) {
+            rejeitadas.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, consumo.segundosParaEsperar())));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Limite de requisições excedido. Tente novamente em instantes.");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${forumhub.limite.intervalo-limpeza:1m}")
+    public void removerBaldesOciosos() {
+        if (baldes != null) {
+            baldes.removerOciosos(System.nanoTime());
+        }
+    }
+
+    private RegraCompilada regra(HttpServletRequest request) {
+        var caminho = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (var regra : regras) {
+            if (regra.aceita(request, caminho)) {
+                return regra;
+            }
+        }
+        return padrao;
+    }
+
+    private String cliente(HttpServletRequest request) {
+        var autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.isAuthenticated() && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+            return "usuario:" + autenticacao.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
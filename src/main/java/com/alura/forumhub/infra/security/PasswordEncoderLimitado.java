@@ -0,0 +1,90 @@
+package com.alura.forumhub.infra.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Todo hash de senha roda num pool próprio com fila limitada. Com a fila cheia a chamada falha na hora
+// com HashSenhaSobrecarregadoException (429) em vez de ocupar mais uma thread do Tomcat com BCrypt.
+// upgradeEncoding compara o custo gravado no hash com o configurado, nos dois sentidos, para o
+// DaoAuthenticationProvider regravar a senha no próximo login bem-sucedido.
+class PasswordEncoderLimitado implements PasswordEncoder, AutoCloseable {
+
+    private static final Pattern CUSTO_BCRYPT = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder delegado;
+    private final int custo;
+    private final Duration retryAfter;
+    private final ThreadPoolExecutor executor;
+
+    PasswordEncoderLimitado(PasswordEncoder delegado, int custo, int threads, int capacidadeFila, Duration retryAfter) {
+        this.delegado = delegado;
+        this.custo = custo;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                Thread.ofPlatform().name("hash-senha-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        var custoGravado = CUSTO_BCRYPT.matcher(encodedPassword);
+        return custoGravado.find() && Integer.parseInt(custoGravado.group(1)) != custo;
+    }
+
+    ThreadPoolExecutor executor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new HashSenhaSobrecarregadoException(retryAfter);
+        }
+
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
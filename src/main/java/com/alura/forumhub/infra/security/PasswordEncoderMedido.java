@@ -0,0 +1,42 @@
+package com.alura.forumhub.infra.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Mede o tempo gasto no BCrypt (cadastro, troca de senha e login) sem mudar o algoritmo
+class PasswordEncoderMedido implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final Timer codificacao;
+    private final Timer verificacao;
+
+    PasswordEncoderMedido(PasswordEncoder delegado, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.codificacao = timer("codificar", meterRegistry);
+        this.verificacao = timer("verificar", meterRegistry);
+    }
+
+    private static Timer timer(String operacao, MeterRegistry meterRegistry) {
+        return Timer.builder("forumhub.senha.hash")
+                .description("Tempo de hash de senha (BCrypt)")
+                .tag("operacao", operacao)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return codificacao.record(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return verificacao.record(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+}
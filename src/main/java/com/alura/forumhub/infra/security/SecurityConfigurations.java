@@ -1,6 +1,9 @@
 package com.alura.forumhub.infra.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,10 +16,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -26,6 +31,15 @@ public class SecurityConfigurations {
     @Autowired
     private SecurityFilter securityFilter;
 
+    @Autowired
+    private LimitadorRequisicoesFilter limitadorRequisicoesFilter;
+
+    @Value("${server.port:8080}")
+    private int portaServidor;
+
+    @Value("${management.server.port:-1}")
+    private int portaGerenciamento;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
@@ -36,21 +50,43 @@ public class SecurityConfigurations {
                         .requestMatchers(HttpMethod.POST, "/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/usuario").permitAll()
                         .requestMatchers(HttpMethod.GET, "/topicos/stats").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(portaGerenciamento()).permitAll()
+                        .requestMatchers("/actuator/**", "/admin/**").hasRole("ADMIN")
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(limitadorRequisicoesFilter, SecurityFilter.class)
                 .build();
     }
 
+    // O Prometheus raspa sem JWT só pela porta de gerenciamento, que fica fechada na rede interna.
+    // Se ela coincidir com a da API (ou não estiver definida), o actuator exige ROLE_ADMIN como o resto
+    private RequestMatcher portaGerenciamento() {
+        var separada = portaGerenciamento > 0 && portaGerenciamento != portaServidor;
+        return request -> separada && request.getLocalPort() == portaGerenciamento;
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${forumhub.senha.bcrypt.custo:10}") int custo,
+            @Value("${forumhub.senha.pool.threads:0}") int threads,
+            @Value("${forumhub.senha.pool.fila:64}") int capacidadeFila,
+            @Value("${forumhub.senha.retry-after:1s}") Duration retryAfter
+    ) {
+        var tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        var encoder = new PasswordEncoderLimitado(
+                new PasswordEncoderMedido(new BCryptPasswordEncoder(custo), meterRegistry),
+                custo, tamanhoPool, capacidadeFila, retryAfter);
+        new ExecutorServiceMetrics(encoder.executor(), "hash-senha", List.of()).bindTo(meterRegistry);
+        return encoder;
     }
 
     // Configuração de CORS para permitir o frontend acessar o backend
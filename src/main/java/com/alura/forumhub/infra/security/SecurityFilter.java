@@ -1,6 +1,7 @@
 package com.alura.forumhub.infra.security;
 
-import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
@@ -20,25 +22,37 @@ public class SecurityFilter extends OncePerRequestFilter {
     private TokenService tokenService;
 
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private CachePrincipais cachePrincipais;
+
+    // Registry global: o filtro também é carregado nos testes @WebMvcTest, que não têm MeterRegistry
+    private final Timer autenticacao = Timer.builder("forumhub.seguranca.autenticacao")
+            .description("Tempo para validar o JWT e carregar o usuário")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(Metrics.globalRegistry);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var tokenJWT = recuperarToken(request);
 
         if (tokenJWT != null) {
-            var subject = tokenService.getSubject(tokenJWT);
-            var usuario = usuarioRepository.findByEmail(subject);
-
-            var authentication = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            var inicio = System.nanoTime();
+            try {
+                var subject = tokenService.getSubject(tokenJWT);
+                var usuario = cachePrincipais.buscar(subject);
 
+                if (usuario != null) {
+                    var authentication = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            } finally {
+                autenticacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private String recuperarToken(HttpServletRequest request) {
+    String recuperarToken(HttpServletRequest request) {
         var authorizationHeader = request.getHeader("Authorization");
         if (authorizationHeader != null) {
             return authorizationHeader.replace("Bearer ", "");
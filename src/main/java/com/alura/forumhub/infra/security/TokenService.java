@@ -2,27 +2,66 @@ package com.alura.forumhub.infra.security;
 
 import com.alura.forumhub.domain.usuario.Usuario;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
 
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "Forum Hub";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.cache.habilitado:true}")
+    private boolean cacheHabilitado;
+
+    @Value("${api.security.token.cache.tamanho-maximo:10000}")
+    private long tamanhoMaximoCache;
+
+    private Algorithm algoritmo;
+
+    private JWTVerifier verificador;
+
+    // Tokens já verificados, indexados pelo SHA-256 do token e válidos até o próprio exp
+    private Cache<String, TokenVerificado> tokensVerificados;
+
+    @PostConstruct
+    public void inicializar() {
+        algoritmo = Algorithm.HMAC256(secret);
+        verificador = JWT.require(algoritmo)
+                .withIssuer(ISSUER)
+                .build();
+
+        if (cacheHabilitado) {
+            tokensVerificados = Caffeine.newBuilder()
+                    .maximumSize(tamanhoMaximoCache)
+                    .expireAfter(new ExpiracaoDoToken())
+                    .build();
+        }
+    }
+
     public String gerarToken(Usuario usuario) {
         try {
-            var algoritmo = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("Forum Hub")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getEmail())
                     .withExpiresAt(dataExpiracao())
                     .sign(algoritmo);
@@ -32,20 +71,63 @@ public class TokenService {
     }
 
     public String getSubject(String tokenJWT) {
+        if (tokensVerificados == null) {
+            return verificar(tokenJWT).subject();
+        }
+
+        var chave = digest(tokenJWT);
+        var verificado = tokensVerificados.getIfPresent(chave);
+        if (verificado == null || !verificado.expiracao().isAfter(Instant.now())) {
+            verificado = verificar(tokenJWT);
+            tokensVerificados.put(chave, verificado);
+        }
+        return verificado.subject();
+    }
+
+    private TokenVerificado verificar(String tokenJWT) {
         try {
-            var algoritmo = Algorithm.HMAC256(secret);
-            return JWT.require(algoritmo)
-                    .withIssuer("Forum Hub")
-                    .build()
-                    .verify(tokenJWT)
-                    .getSubject();
+            var decodificado = verificador.verify(tokenJWT);
+            return new TokenVerificado(decodificado.getSubject(), decodificado.getExpiresAtAsInstant());
         } catch (JWTVerificationException exception) {
             throw new RuntimeException("Token JWT inválido ou expirado!");
         }
     }
 
+    private static String digest(String tokenJWT) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(tokenJWT.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Instant dataExpiracao() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
 
+    private record TokenVerificado(String subject, Instant expiracao) {
+    }
+
+    private static class ExpiracaoDoToken implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String chave, TokenVerificado token, long currentTime) {
+            if (token.expiracao() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), token.expiracao()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, TokenVerificado token, long currentTime, long currentDuration) {
+            return expireAfterCreate(chave, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, TokenVerificado token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
 }
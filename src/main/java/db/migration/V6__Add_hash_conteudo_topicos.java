@@ -0,0 +1,51 @@
+package db.migration;
+
+import com.alura.forumhub.domain.topico.ConteudoTopico;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.util.HashSet;
+
+// Adiciona topicos.hash_conteudo, preenche com o mesmo hash calculado pela aplicação e cria o índice único.
+// Duplicatas já existentes ficam com hash nulo para não impedir a criação do índice.
+public class V6__Add_hash_conteudo_topicos extends BaseJavaMigration {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        var conexao = context.getConnection();
+
+        try (var statement = conexao.createStatement()) {
+            statement.execute("alter table topicos add hash_conteudo char(64)");
+        }
+
+        var vistos = new HashSet<String>();
+        try (var consulta = conexao.createStatement();
+             var atualizacao = conexao.prepareStatement("update topicos set hash_conteudo = ? where id = ?")) {
+            consulta.setFetchSize(TAMANHO_LOTE);
+
+            try (var resultado = consulta.executeQuery("select id, titulo, mensagem from topicos order by id")) {
+                var pendentes = 0;
+                while (resultado.next()) {
+                    var hash = ConteudoTopico.hash(resultado.getString("titulo"), resultado.getString("mensagem"));
+                    if (!vistos.add(hash)) {
+                        continue;
+                    }
+
+                    atualizacao.setString(1, hash);
+                    atualizacao.setLong(2, resultado.getLong("id"));
+                    atualizacao.addBatch();
+                    if (++pendentes % TAMANHO_LOTE == 0) {
+                        atualizacao.executeBatch();
+                    }
+                }
+                atualizacao.executeBatch();
+            }
+        }
+
+        try (var statement = conexao.createStatement()) {
+            statement.execute("create unique index uk_topicos_hash_conteudo on topicos (hash_conteudo)");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+create table replicacao_heartbeat (
+    id tinyint not null primary key,
+    atualizado_em bigint not null
+);
+
+insert into replicacao_heartbeat (id, atualizado_em) values (1, 0);
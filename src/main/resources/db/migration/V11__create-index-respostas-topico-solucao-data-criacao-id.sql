@@ -0,0 +1 @@
+create index idx_respostas_topico_solucao_data_criacao_id on respostas (topico_id, solucao desc, data_criacao, id);
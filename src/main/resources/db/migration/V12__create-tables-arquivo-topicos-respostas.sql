@@ -0,0 +1,45 @@
+-- Tópicos excluídos há mais tempo que a carência saem de topicos/respostas para as tabelas de arquivo.
+-- O arquivo não tem chaves estrangeiras, para sobreviver à exclusão de usuários e cursos.
+alter table topicos add data_exclusao datetime;
+update topicos set data_exclusao = current_timestamp where ativo = 0;
+create index idx_topicos_ativo_id_data_exclusao on topicos (ativo, id, data_exclusao);
+
+create table topicos_arquivo (
+    id bigint not null primary key,
+    titulo varchar(255) not null,
+    mensagem text not null,
+    data_criacao datetime not null,
+    status varchar(20) not null,
+    autor_id bigint not null,
+    curso_id bigint not null,
+    respostas_count int not null,
+    ultima_atividade datetime,
+    hash_conteudo char(64),
+    versao bigint not null,
+    origem_id varchar(100),
+    data_exclusao datetime,
+    arquivado_em datetime not null
+);
+
+create table respostas_arquivo (
+    id bigint not null primary key,
+    mensagem text not null,
+    data_criacao datetime not null,
+    solucao boolean not null,
+    topico_id bigint not null,
+    autor_id bigint not null,
+    versao bigint not null,
+    arquivado_em datetime not null
+);
+
+create index idx_respostas_arquivo_topico_id on respostas_arquivo (topico_id);
+
+-- Uma linha só: último id processado pela execução em andamento
+create table arquivamento_progresso (
+    id tinyint not null primary key,
+    ultimo_id bigint not null,
+    topicos_arquivados bigint not null,
+    atualizado_em datetime not null
+);
+
+insert into arquivamento_progresso (id, ultimo_id, topicos_arquivados, atualizado_em) values (1, 0, 0, current_timestamp);
@@ -0,0 +1 @@
+create index idx_topicos_curso_ativo_data_criacao on topicos (curso_id, ativo, data_criacao);
@@ -0,0 +1,4 @@
+alter table topicos add respostas_count int not null default 0;
+alter table topicos add ultima_atividade datetime;
+update topicos t set respostas_count = (select count(*) from respostas r where r.topico_id = t.id);
+update topicos t set ultima_atividade = coalesce((select max(r.data_criacao) from respostas r where r.topico_id = t.id), t.data_criacao);
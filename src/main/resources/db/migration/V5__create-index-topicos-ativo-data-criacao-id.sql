@@ -0,0 +1 @@
+create index idx_topicos_ativo_data_criacao_id on topicos (ativo, data_criacao, id);
@@ -0,0 +1,2 @@
+create index idx_cursos_nome on cursos (nome);
+create index idx_cursos_categoria on cursos (categoria);
@@ -0,0 +1,2 @@
+alter table topicos add versao bigint not null default 0;
+alter table respostas add versao bigint not null default 0;
@@ -0,0 +1,24 @@
+-- Ids de tópicos e respostas passam a vir de um gerador em tabela com blocos de 100 (otimizador pooled),
+-- o que permite ao Hibernate agrupar INSERTs em lote. O valor inicial é o topo do primeiro bloco.
+create table id_geradores (
+    nome varchar(64) not null primary key,
+    proximo_valor bigint not null
+);
+
+insert into id_geradores (nome, proximo_valor) select 'topicos', coalesce(max(id), 0) + 100 from topicos;
+insert into id_geradores (nome, proximo_valor) select 'respostas', coalesce(max(id), 0) + 100 from respostas;
+
+create table importacoes (
+    id bigint auto_increment primary key,
+    status varchar(20) not null,
+    registros_processados bigint not null default 0,
+    topicos_importados bigint not null default 0,
+    respostas_importadas bigint not null default 0,
+    erros bigint not null default 0,
+    ultimo_erro varchar(500),
+    iniciada_em datetime not null,
+    atualizada_em datetime not null
+);
+
+alter table topicos add origem_id varchar(100);
+create unique index uk_topicos_origem_id on topicos (origem_id);
@@ -0,0 +1,13 @@
+package com.alura.forumhub.carga;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+@EnabledIfSystemProperty(named = "forumhub.carga", matches = "true")
+class CargaThreadsVirtuaisTest extends ComparacaoCargaBase {
+}
@@ -0,0 +1,183 @@
+package com.alura.forumhub.carga;
+
+import com.alura.forumhub.domain.curso.Curso;
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Comparação de vazão e p99 entre threads de plataforma e virtuais contra o H2 do perfil de teste.
+// Desligada por padrão: ./mvnw test -Dtest='CargaThreads*' -Dforumhub.carga=true
+// Cada modo grava o resultado em target/carga/threads-<modo>.json, para comparar lado a lado.
+abstract class ComparacaoCargaBase {
+
+    private static final Logger log = LoggerFactory.getLogger(ComparacaoCargaBase.class);
+
+    private static final Path RESULTADOS = Path.of("target", "carga");
+
+    private static final int TOPICOS = 50;
+    private static final int RESPOSTAS = 50;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
+    @Value("${forumhub.carga.concorrencia:64}")
+    private int concorrencia;
+
+    @Value("${forumhub.carga.requisicoes:2000}")
+    private int requisicoes;
+
+    @Value("${forumhub.carga.requisicoes-login:200}")
+    private int requisicoesLogin;
+
+    // Tetos folgados: pegam regressões grosseiras (ex.: pool esgotado) sem depender da máquina.
+    // O login é limitado pelo BCrypt, que escala com o número de núcleos
+    @Value("${forumhub.carga.p99-maximo:5s}")
+    private Duration p99Maximo;
+
+    @Value("${forumhub.carga.p99-maximo-login:30s}")
+    private Duration p99MaximoLogin;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private record Resultado(String cenario, double vazao, double p99Millis, long p99MaximoMillis) {
+    }
+
+    @Test
+    void compararCarga() throws Exception {
+        var email = "carga-" + System.nanoTime() + "@forumhub.com";
+        var usuarioId = cadastrarUsuario(email);
+        var cursoId = cursoRepository.save(Curso.builder().nome("Carga").categoria("Backend").build()).getId();
+        var token = login(email).get("token").toString();
+
+        Long topicoId = null;
+        for (int i = 0; i < TOPICOS; i++) {
+            var topico = postar("/topicos", token, Map.of("titulo", "Carga " + i, "mensagem", "Mensagem " + i,
+                    "autorId", usuarioId, "cursoId", cursoId));
+            topicoId = ((Number) topico.get("id")).longValue();
+        }
+        for (int i = 0; i < RESPOSTAS; i++) {
+            postar("/respostas", token, Map.of("mensagem", "Resposta " + i, "topicoId", topicoId, "autorId", usuarioId));
+        }
+
+        var corpoLogin = objectMapper.writeValueAsString(Map.of("email", email, "senha", "senha123"));
+        var resultados = new Resultado[]{
+                medir("GET /topicos", requisicoes, p99Maximo,
+                        () -> requisicao("/topicos?size=20", token).GET().build()),
+                medir("GET /respostas", requisicoes, p99Maximo,
+                        () -> requisicao("/respostas?size=20", token).GET().build()),
+                medir("POST /login", requisicoesLogin, p99MaximoLogin, () -> requisicao("/login", null)
+                        .POST(HttpRequest.BodyPublishers.ofString(corpoLogin)).build())
+        };
+
+        var modo = threadsVirtuais ? "virtuais" : "plataforma";
+        for (var resultado : resultados) {
+            log.info("Carga com threads {}: {} {} req/s, p99 {} ms", modo, resultado.cenario(),
+                    String.format(Locale.ROOT, "%.1f", resultado.vazao()),
+                    String.format(Locale.ROOT, "%.2f", resultado.p99Millis()));
+        }
+        Files.createDirectories(RESULTADOS);
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(RESULTADOS.resolve("threads-" + modo + ".json").toFile(), resultados);
+
+        for (var resultado : resultados) {
+            assertThat(resultado.vazao()).as(resultado.cenario()).isPositive();
+            assertThat(resultado.p99Millis()).as(resultado.cenario()).isLessThanOrEqualTo(resultado.p99MaximoMillis());
+        }
+    }
+
+    private Resultado medir(String cenario, int total, Duration p99Maximo, Supplier<HttpRequest> requisicao)
+            throws InterruptedException {
+        executar(Math.max(1, total / 10), requisicao, new long[total / 10 + 1]);
+
+        var latencias = new long[total];
+        var inicio = System.nanoTime();
+        executar(total, requisicao, latencias);
+        var duracao = System.nanoTime() - inicio;
+
+        Arrays.sort(latencias);
+        var p99 = latencias[Math.max(0, (int) Math.ceil(total * 0.99) - 1)];
+        return new Resultado(cenario, total / (duracao / 1e9), p99 / 1e6, p99Maximo.toMillis());
+    }
+
+    private void executar(int total, Supplier<HttpRequest> requisicao, long[] latencias)
+            throws InterruptedException {
+        var emVoo = new Semaphore(concorrencia);
+        var falhas = new AtomicInteger();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                var indice = i;
+                emVoo.acquire();
+                executor.submit(() -> {
+                    try {
+                        var inicio = System.nanoTime();
+                        var resposta = cliente.send(requisicao.get(), HttpResponse.BodyHandlers.discarding());
+                        latencias[indice] = System.nanoTime() - inicio;
+                        if (resposta.statusCode() != 200) {
+                            falhas.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        falhas.incrementAndGet();
+                    } finally {
+                        emVoo.release();
+                    }
+                });
+            }
+        }
+        assertThat(falhas.get()).isZero();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        var builder = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .header("Content-Type", "application/json");
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private Long cadastrarUsuario(String email) throws Exception {
+        var usuario = postar("/usuario", null, Map.of("nome", "Carga", "email", email, "senha", "senha123"));
+        return ((Number) usuario.get("id")).longValue();
+    }
+
+    private Map<?, ?> login(String email) throws Exception {
+        return postar("/login", null, Map.of("email", email, "senha", "senha123"));
+    }
+
+    private Map<?, ?> postar(String caminho, String token, Map<String, Object> corpo) throws Exception {
+        var resposta = cliente.send(requisicao(caminho, token)
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(resposta.statusCode()).as(caminho).isBetween(200, 201);
+        return objectMapper.readValue(resposta.body(), Map.class);
+    }
+}
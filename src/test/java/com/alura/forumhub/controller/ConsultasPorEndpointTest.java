@@ -0,0 +1,451 @@
+package com.alura.forumhub.controller;
+
+import com.alura.forumhub.domain.curso.CatalogoCursos;
+import com.alura.forumhub.domain.curso.Curso;
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.Resposta;
+import com.alura.forumhub.domain.resposta.RespostaRepository;
+import com.alura.forumhub.domain.topico.DadosCadastroTopico;
+import com.alura.forumhub.domain.topico.StatusTopico;
+import com.alura.forumhub.domain.topico.Topico;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import com.alura.forumhub.domain.topico.busca.IndiceBuscaTopicos;
+import com.alura.forumhub.domain.usuario.Usuario;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import com.alura.forumhub.infra.http.ETagVersao;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.alura.forumhub.infra.metricas.ContagemSql.assertQueryCount;
+import static com.alura.forumhub.infra.metricas.ContagemSql.assertQueryCountAtMost;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.novoUsuario;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.prefixo;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarCurso;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarUsuario;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Orçamento de comandos SQL de cada endpoint. As listagens são medidas com páginas de 1 e de 100
+// linhas: o número de comandos tem que ser o mesmo, senão há N+1. Leituras têm valor exato;
+// escritas têm teto, porque a alocação de ids e as consultas de apoio variam com o estado do banco.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConsultasPorEndpointTest {
+
+    private static final int LINHAS = 150;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private CatalogoCursos catalogoCursos;
+
+    @Autowired
+    private IndiceBuscaTopicos indiceBuscaTopicos;
+
+    private String prefixo;
+    private Usuario autor;
+    private Usuario outroUsuario;
+    private Curso curso;
+    private Topico topico;
+    // Só recebe respostas na semeadura: nenhum teste marca solução nele
+    private Topico topicoComRespostas;
+
+    @BeforeAll
+    void semear() {
+        prefixo = prefixo("sql");
+
+        var usuarios = new ArrayList<Usuario>();
+        for (int i = 0; i < LINHAS; i++) {
+            usuarios.add(novoUsuario("Usuário " + i, prefixo + "-" + i));
+        }
+        usuarioRepository.saveAll(usuarios);
+        autor = usuarios.get(0);
+        outroUsuario = usuarios.get(1);
+        curso = salvarCurso(cursoRepository, prefixo);
+        catalogoCursos.recarregar();
+
+        var topicos = new ArrayList<Topico>();
+        for (int i = 0; i < LINHAS; i++) {
+            topicos.add(novoTopico("Tópico " + i));
+        }
+        topicoRepository.saveAll(topicos);
+        topico = topicos.get(0);
+        topicoComRespostas = topicos.get(1);
+        // Os tópicos entram pelo repositório, sem evento; indexa para a busca chegar ao banco
+        topicos.forEach(t -> indiceBuscaTopicos.indexar(t.getId(), t.getTitulo(), t.getMensagem()));
+
+        var respostas = new ArrayList<Resposta>();
+        for (int i = 0; i < LINHAS; i++) {
+            respostas.add(novaResposta("Resposta " + i));
+            respostas.add(novaResposta(topicoComRespostas, "Resposta " + i, false));
+        }
+        respostaRepository.saveAll(respostas);
+    }
+
+    private Topico novoTopico(String titulo) {
+        return new Topico(new DadosCadastroTopico(titulo + " " + prefixo, "Mensagem " + titulo,
+                autor.getId(), curso.getId()), autor, curso);
+    }
+
+    private Resposta novaResposta(String mensagem) {
+        return novaResposta(topico, mensagem, false);
+    }
+
+    private Resposta novaResposta(Topico topico, String mensagem, boolean solucao) {
+        return Resposta.builder()
+                .mensagem(mensagem)
+                .autor(autor)
+                .topico(topico)
+                .solucao(solucao)
+                .dataCriacao(LocalDateTime.now())
+                .build();
+    }
+
+    private MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder requisicao) {
+        return requisicao.with(user(autor));
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder requisicao, String corpo) {
+        return autenticado(requisicao).contentType(MediaType.APPLICATION_JSON).content(corpo);
+    }
+
+    // TopicoController
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    @DisplayName("GET /topicos: página + contagem")
+    void listarTopicos(int tamanho) throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(autenticado(get("/topicos").param("size", "" + tamanho)))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    @DisplayName("GET /topicos?curso&ano: página + contagem, sem ler cursos")
+    void listarTopicosPorCursoEAno(int tamanho) throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(autenticado(get("/topicos")
+                        .param("curso", curso.getNome())
+                        .param("ano", "" + Year.now().getValue())
+                        .param("size", "" + tamanho)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].curso").value("Backend")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    @DisplayName("GET /topicos?cursor: uma consulta keyset")
+    void listarTopicosPorCursor(int tamanho) throws Exception {
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/topicos")
+                        .param("cursor", "")
+                        .param("size", "" + tamanho)))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    @DisplayName("GET /topicos?cursor&curso&ano: uma consulta keyset, sem ler cursos")
+    void listarTopicosPorCursorCursoEAno(int tamanho) throws Exception {
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/topicos")
+                        .param("cursor", "")
+                        .param("curso", curso.getNome())
+                        .param("ano", "" + Year.now().getValue())
+                        .param("size", "" + tamanho)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(tamanho))
+                .andExpect(jsonPath("$.conteudo[0].curso").value("Backend")));
+    }
+
+    @Test
+    void buscarTopicos() throws Exception {
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/topicos/busca").param("q", prefixo)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20)));
+    }
+
+    // Tópicos novos: o compartilhado recebe respostas dos outros testes, que invalidam o cache de detalhes
+    @Test
+    void detalharTopico() throws Exception {
+        var alvo = topicoRepository.save(novoTopico("Detalhar"));
+
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/topicos/{id}", alvo.getId())))
+                .andExpect(status().isOk()));
+        assertQueryCount(0, () -> mockMvc.perform(autenticado(get("/topicos/{id}", alvo.getId())))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void detalharTopicoNaoModificado() throws Exception {
+        var alvo = topicoRepository.save(novoTopico("Não modificado"));
+
+        var etag = mockMvc.perform(autenticado(get("/topicos/{id}", alvo.getId())))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertQueryCount(0, () -> mockMvc.perform(autenticado(get("/topicos/{id}", alvo.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    void detalharTopicoAposAtualizacao() throws Exception {
+        var alvo = topicoRepository.save(novoTopico("Invalidar"));
+        mockMvc.perform(autenticado(get("/topicos/{id}", alvo.getId()))).andExpect(status().isOk());
+        var corpo = """
+                {"titulo":"Invalidado %s","mensagem":"Nova mensagem"}""".formatted(prefixo);
+        mockMvc.perform(json(put("/topicos/{id}", alvo.getId()), corpo)).andExpect(status().isOk());
+
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/topicos/{id}", alvo.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titulo").value("Invalidado " + prefixo)));
+    }
+
+    // Responder só mexe no contador, que o detalhe não mostra: o ETag (em cache ou não) continua igual
+    // ao do banco. O tópico já tem resposta, então o worker de status não muda a versão
+    @Test
+    void detalharTopicoAposResposta() throws Exception {
+        var alvo = novoTopico("Respondido");
+        alvo.setStatus(StatusTopico.NAO_SOLUCIONADO);
+        topicoRepository.save(alvo);
+        var primeira = novaResposta("Primeira");
+        primeira.setTopico(alvo);
+        respostaRepository.save(primeira);
+
+        var etag = mockMvc.perform(autenticado(get("/topicos/{id}", alvo.getId())))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var corpo = """
+                {"mensagem":"Segunda","topicoId":%d,"autorId":%d}""".formatted(alvo.getId(), autor.getId());
+        mockMvc.perform(json(post("/respostas"), corpo)).andExpect(status().isCreated());
+
+        mockMvc.perform(autenticado(get("/topicos/{id}", alvo.getId()).header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .andExpect(status().isNotModified());
+        assertEquals(ETagVersao.forte(topicoRepository.findVersaoByIdAndAtivoTrue(alvo.getId()).orElseThrow()), etag);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 100})
+    @DisplayName("GET /topicos/{id}/respostas: uma consulta por página, com o autor no mesmo SELECT")
+    void listarRespostasDoTopico(int tamanho) throws Exception {
+        var corpo = new AtomicReference<String>();
+        assertQueryCount(1, () -> corpo.set(mockMvc.perform(autenticado(get("/topicos/{id}/respostas", topicoComRespostas.getId())
+                        .param("size", "" + tamanho)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(tamanho))
+                .andReturn().getResponse().getContentAsString()));
+        String next = JsonPath.read(corpo.get(), "$.next");
+
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/topicos/{id}/respostas", topicoComRespostas.getId())
+                        .param("cursor", next)
+                        .param("size", "" + tamanho)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /topicos/{id}/respostas: a página que sai do bloco de soluções faz uma consulta por bloco")
+    void listarRespostasAposAsSolucoes() throws Exception {
+        var alvo = topicoRepository.save(novoTopico("Com solução"));
+        respostaRepository.saveAll(List.of(
+                novaResposta(alvo, "Solução", true),
+                novaResposta(alvo, "Primeira", false),
+                novaResposta(alvo, "Segunda", false)));
+
+        var corpo = new AtomicReference<String>();
+        assertQueryCount(1, () -> corpo.set(mockMvc.perform(autenticado(get("/topicos/{id}/respostas", alvo.getId())
+                        .param("size", "1")))
+                .andExpect(jsonPath("$.conteudo[0].solucao").value(true))
+                .andReturn().getResponse().getContentAsString()));
+        String next = JsonPath.read(corpo.get(), "$.next");
+
+        assertQueryCount(2, () -> mockMvc.perform(autenticado(get("/topicos/{id}/respostas", alvo.getId())
+                        .param("cursor", next)
+                        .param("size", "1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].solucao").value(false)));
+    }
+
+    @Test
+    void listarRespostasDeTopicoSemRespostas() throws Exception {
+        var alvo = topicoRepository.save(novoTopico("Sem respostas"));
+
+        assertQueryCount(2, () -> mockMvc.perform(autenticado(get("/topicos/{id}/respostas", alvo.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo").isEmpty()));
+    }
+
+    @Test
+    void estatisticasTopicos() throws Exception {
+        assertQueryCount(0, () -> mockMvc.perform(autenticado(get("/topicos/stats")))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void cadastrarTopico() throws Exception {
+        var corpo = """
+                {"titulo":"Novo %s","mensagem":"Mensagem","autorId":%d,"cursoId":%d}"""
+                .formatted(prefixo, autor.getId(), curso.getId());
+
+        assertQueryCountAtMost(6, () -> mockMvc.perform(json(post("/topicos"), corpo))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void atualizarTopico() throws Exception {
+        var alvo = topicoRepository.save(novoTopico("Atualizar"));
+        var corpo = """
+                {"titulo":"Atualizado %s","mensagem":"Nova mensagem"}""".formatted(prefixo);
+
+        assertQueryCountAtMost(3, () -> mockMvc.perform(json(put("/topicos/{id}", alvo.getId()), corpo))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void excluirTopico() throws Exception {
+        var alvo = topicoRepository.save(novoTopico("Excluir"));
+
+        assertQueryCountAtMost(3, () -> mockMvc.perform(autenticado(delete("/topicos/{id}", alvo.getId())))
+                .andExpect(status().isNoContent()));
+    }
+
+    // RespostaController
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    @DisplayName("GET /respostas: página + contagem")
+    void listarRespostas(int tamanho) throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(autenticado(get("/respostas").param("size", "" + tamanho)))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    @DisplayName("GET /respostas?cursor: uma consulta keyset")
+    void listarRespostasPorCursor(int tamanho) throws Exception {
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/respostas")
+                        .param("cursor", "")
+                        .param("size", "" + tamanho)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void detalharResposta() throws Exception {
+        var alvo = respostaRepository.save(novaResposta("Detalhar"));
+
+        assertQueryCountAtMost(3, () -> mockMvc.perform(autenticado(get("/respostas/{id}", alvo.getId())))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void cadastrarResposta() throws Exception {
+        var corpo = """
+                {"mensagem":"Nova resposta","topicoId":%d,"autorId":%d}"""
+                .formatted(topico.getId(), autor.getId());
+
+        assertQueryCountAtMost(6, () -> mockMvc.perform(json(post("/respostas"), corpo))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void atualizarResposta() throws Exception {
+        var alvo = respostaRepository.save(novaResposta("Atualizar"));
+
+        assertQueryCountAtMost(3, () -> mockMvc.perform(json(put("/respostas/{id}", alvo.getId()),
+                        """
+                        {"mensagem":"Editada","solucao":true}"""))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void excluirResposta() throws Exception {
+        var alvo = respostaRepository.save(novaResposta("Excluir"));
+
+        assertQueryCountAtMost(4, () -> mockMvc.perform(autenticado(delete("/respostas/{id}", alvo.getId())))
+                .andExpect(status().isNoContent()));
+    }
+
+    // UsuarioController
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    @DisplayName("GET /usuario: página + contagem")
+    void listarUsuarios(int tamanho) throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(autenticado(get("/usuario").param("size", "" + tamanho)))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    @DisplayName("GET /usuario?cursor: uma consulta keyset")
+    void listarUsuariosPorCursor(int tamanho) throws Exception {
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/usuario")
+                        .param("cursor", "")
+                        .param("size", "" + tamanho)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void detalharUsuario() throws Exception {
+        assertQueryCount(1, () -> mockMvc.perform(autenticado(get("/usuario/{id}", autor.getId())))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void cadastrarUsuario() throws Exception {
+        var corpo = """
+                {"nome":"Novo","email":"novo-%s@forumhub.com","senha":"senha"}""".formatted(prefixo);
+
+        assertQueryCountAtMost(2, () -> mockMvc.perform(json(post("/usuario"), corpo))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void atualizarUsuario() throws Exception {
+        assertQueryCountAtMost(3, () -> mockMvc.perform(json(put("/usuario/{id}", outroUsuario.getId()),
+                        """
+                        {"nome":"Renomeado","senha":"outra"}"""))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void excluirUsuario() throws Exception {
+        var alvo = salvarUsuario(usuarioRepository, "Excluir", "excluir-" + prefixo);
+
+        // find + coleções em cascata (tópicos, respostas) + perfis + delete
+        assertQueryCountAtMost(6, () -> mockMvc.perform(autenticado(delete("/usuario/{id}", alvo.getId())))
+                .andExpect(status().isNoContent()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.alura.forumhub.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportacaoControllerTest {
+
+    @Test
+    void deveCompactarSoQuandoGzipTemQPositivo() {
+        assertTrue(ExportacaoController.aceitaGzip("gzip"));
+        assertTrue(ExportacaoController.aceitaGzip("br, gzip;q=0.5"));
+        assertTrue(ExportacaoController.aceitaGzip("deflate, *;q=0.1"));
+
+        assertFalse(ExportacaoController.aceitaGzip(null));
+        assertFalse(ExportacaoController.aceitaGzip("gzip;q=0"));
+        assertFalse(ExportacaoController.aceitaGzip("gzip; q=0.0, *"));
+        assertFalse(ExportacaoController.aceitaGzip("identity"));
+        assertFalse(ExportacaoController.aceitaGzip("*;q=0"));
+    }
+}
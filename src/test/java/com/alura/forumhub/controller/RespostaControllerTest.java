@@ -1,5 +1,6 @@
 package com.alura.forumhub.controller;
 
+import com.alura.forumhub.domain.curso.Curso;
 import com.alura.forumhub.domain.resposta.*;
 import com.alura.forumhub.domain.topico.Topico;
 import com.alura.forumhub.domain.topico.TopicoRepository;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -36,6 +38,9 @@ class RespostaControllerTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RespostaController respostaController;
 
@@ -54,6 +59,7 @@ class RespostaControllerTest {
         topico = new Topico();
         topico.setId(1L);
         topico.setTitulo("Título do Tópico");
+        topico.setCurso(Curso.builder().id(1L).nome("Spring Boot").categoria("BackEnd").build());
 
         resposta = Resposta.builder()
                 .id(1L)
@@ -85,14 +91,17 @@ class RespostaControllerTest {
         assertEquals(201, response.getStatusCodeValue());
         assertEquals("Mensagem teste", response.getBody().mensagem());
         verify(respostaRepository, times(1)).save(any(Resposta.class));
+        verify(topicoRepository, times(1)).incrementarRespostas(eq(topico.getId()), any(LocalDateTime.class));
+        verify(eventPublisher, times(1)).publishEvent(any(RespostaCadastradaEvento.class));
     }
 
     @Test
     void deveListarRespostas() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Resposta> page = new PageImpl<>(List.of(resposta));
+        Page<DadosListagemResposta> page = new PageImpl<>(List.of(
+                new DadosListagemResposta(1L, "Mensagem teste", "Autor Teste", false, 0L)));
 
-        when(respostaRepository.findAll(pageable)).thenReturn(page);
+        when(respostaRepository.findListagem(pageable)).thenReturn(page);
 
         ResponseEntity<Page<DadosListagemResposta>> response =
                 respostaController.listar(pageable);
@@ -106,10 +115,23 @@ class RespostaControllerTest {
         when(respostaRepository.findById(1L)).thenReturn(Optional.of(resposta));
 
         ResponseEntity<DadosDetalhamentoResposta> response =
-                respostaController.detalhar(1L);
+                respostaController.detalhar(1L, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals("Mensagem teste", response.getBody().mensagem());
+        assertEquals("\"0\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void deveRetornarNotModifiedQuandoVersaoNaoMudou() {
+        when(respostaRepository.findVersaoById(1L)).thenReturn(Optional.of(3L));
+
+        ResponseEntity<DadosDetalhamentoResposta> response =
+                respostaController.detalhar(1L, "\"3\"");
+
+        assertEquals(304, response.getStatusCodeValue());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        verify(respostaRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -119,30 +141,46 @@ class RespostaControllerTest {
         when(respostaRepository.findById(1L)).thenReturn(Optional.of(resposta));
 
         ResponseEntity<DadosDetalhamentoResposta> response =
-                respostaController.atualizar(1L, dados);
+                respostaController.atualizar(1L, null, dados);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals("Nova mensagem", response.getBody().mensagem());
         assertTrue(response.getBody().solucao());
+        verify(eventPublisher, times(1)).publishEvent(any(RespostaMarcadaComoSolucaoEvento.class));
+    }
+
+    @Test
+    void naoDeveAtualizarRespostaComIfMatchDesatualizado() {
+        resposta.setVersao(4L);
+        when(respostaRepository.findById(1L)).thenReturn(Optional.of(resposta));
+
+        ResponseEntity<DadosDetalhamentoResposta> response =
+                respostaController.atualizar(1L, "\"3\"", new DadosAtualizacaoResposta("Nova mensagem", true));
+
+        assertEquals(412, response.getStatusCodeValue());
+        assertEquals("Mensagem teste", resposta.getMensagem());
     }
 
     @Test
     void deveExcluirRespostaExistente() {
-        when(respostaRepository.existsById(1L)).thenReturn(true);
+        when(respostaRepository.findById(1L)).thenReturn(Optional.of(resposta));
 
         ResponseEntity<Void> response = respostaController.excluir(1L);
 
         assertEquals(204, response.getStatusCodeValue());
-        verify(respostaRepository, times(1)).deleteById(1L);
+        verify(respostaRepository, times(1)).delete(resposta);
+        verify(topicoRepository, times(1)).decrementarRespostas(topico.getId());
+        verify(eventPublisher, times(1)).publishEvent(any(RespostaExcluidaEvento.class));
     }
 
     @Test
     void naoDeveExcluirRespostaInexistente() {
-        when(respostaRepository.existsById(1L)).thenReturn(false);
+        when(respostaRepository.findById(1L)).thenReturn(Optional.empty());
 
         ResponseEntity<Void> response = respostaController.excluir(1L);
 
         assertEquals(404, response.getStatusCodeValue());
-        verify(respostaRepository, never()).deleteById(anyLong());
+        verify(respostaRepository, never()).delete(any(Resposta.class));
+        verify(topicoRepository, never()).decrementarRespostas(anyLong());
     }
 }
@@ -1,26 +1,47 @@
 package com.alura.forumhub.controller;
 
+import com.alura.forumhub.domain.curso.CatalogoCursos;
 import com.alura.forumhub.domain.curso.Curso;
 import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.DadosListagemRespostaTopico;
+import com.alura.forumhub.domain.resposta.RespostaRepository;
 import com.alura.forumhub.domain.topico.*;
+import com.alura.forumhub.domain.topico.busca.IndiceBuscaTopicos;
+import com.alura.forumhub.domain.topico.busca.ResultadoBusca;
+import com.alura.forumhub.domain.topico.estatisticas.EstatisticasTopicos;
 import com.alura.forumhub.domain.usuario.Usuario;
 import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import com.alura.forumhub.infra.paginacao.CursorPaginacao;
+import com.alura.forumhub.infra.security.CachePrincipais;
 import com.alura.forumhub.infra.security.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,9 +62,30 @@ class TopicoControllerTest {
     @MockitoBean
     private CursoRepository cursoRepository;
 
+    @MockitoBean
+    private RespostaRepository respostaRepository;
+
+    @MockitoBean
+    private EstatisticasTopicos estatisticasTopicos;
+
+    @MockitoBean
+    private IndiceBuscaTopicos indiceBuscaTopicos;
+
+    @MockitoBean
+    private DetectorTopicosDuplicados detectorTopicosDuplicados;
+
+    @MockitoBean
+    private CacheDetalhesTopicos cacheDetalhesTopicos;
+
+    @MockitoBean
+    private CatalogoCursos catalogoCursos;
+
     @MockitoBean
     private TokenService tokenService;
 
+    @MockitoBean
+    private CachePrincipais cachePrincipais;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -53,11 +95,10 @@ class TopicoControllerTest {
         var autor = new Usuario(1L, "Alice", "alice@mail.com", "senha");
         var curso = new Curso(2L, "Spring Boot", "Backend");
 
-        when(topicoRepository.existsByTituloAndMensagem(dados.titulo(), dados.mensagem()))
-                .thenReturn(false);
+        when(detectorTopicosDuplicados.talvezExista(any())).thenReturn(false);
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(autor));
         when(cursoRepository.findById(2L)).thenReturn(Optional.of(curso));
-        when(topicoRepository.save(any(Topico.class))).thenAnswer(inv -> {
+        when(topicoRepository.saveAndFlush(any(Topico.class))).thenAnswer(inv -> {
             var t = inv.getArgument(0, Topico.class);
             t.setId(100L);
             return t;
@@ -70,13 +111,36 @@ class TopicoControllerTest {
                 .andExpect(header().string("Location", "http://localhost/topicos/100"))
                 .andExpect(jsonPath("$.id").value(100))
                 .andExpect(jsonPath("$.titulo").value("Java 101"));
+
+        verify(topicoRepository, never()).existsByHashConteudo(any());
     }
 
     @Test
     @DisplayName("POST /topicos - falha quando duplicado")
     void deveRetornarBadRequestAoCriarTopicoDuplicado() throws Exception {
         var dados = new DadosCadastroTopico("X", "Y", 1L, 2L);
-        when(topicoRepository.existsByTituloAndMensagem("X", "Y")).thenReturn(true);
+        var hash = ConteudoTopico.hash("X", "Y");
+        when(detectorTopicosDuplicados.talvezExista(hash)).thenReturn(true);
+        when(topicoRepository.existsByHashConteudo(hash)).thenReturn(true);
+
+        mockMvc.perform(post("/topicos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dados)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Já existe um tópico com esse título e mensagem."));
+    }
+
+    @Test
+    @DisplayName("POST /topicos - duplicata concorrente barrada pelo indice unico")
+    void deveRetornarBadRequestQuandoIndiceUnicoRejeitaDuplicata() throws Exception {
+        var dados = new DadosCadastroTopico("Java 101", "Intro a Java", 1L, 2L);
+        var autor = new Usuario(1L, "Alice", "alice@mail.com", "senha");
+        var curso = new Curso(2L, "Spring Boot", "Backend");
+
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(autor));
+        when(cursoRepository.findById(2L)).thenReturn(Optional.of(curso));
+        when(topicoRepository.saveAndFlush(any(Topico.class)))
+                .thenThrow(violacao("uk_topicos_hash_conteudo"));
 
         mockMvc.perform(post("/topicos")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -85,6 +149,28 @@ class TopicoControllerTest {
                 .andExpect(content().string("Já existe um tópico com esse título e mensagem."));
     }
 
+    @Test
+    @DisplayName("POST /topicos - violacao de outra restricao nao vira duplicata")
+    void devePropagarViolacaoDeOutraRestricao() {
+        var dados = new DadosCadastroTopico("Java 101", "Intro a Java", 1L, 2L);
+        var autor = new Usuario(1L, "Alice", "alice@mail.com", "senha");
+        var curso = new Curso(2L, "Spring Boot", "Backend");
+
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(autor));
+        when(cursoRepository.findById(2L)).thenReturn(Optional.of(curso));
+        when(topicoRepository.saveAndFlush(any(Topico.class))).thenThrow(violacao("fk_topicos_curso"));
+
+        var erro = assertThrows(ServletException.class, () -> mockMvc.perform(post("/topicos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dados))));
+        assertInstanceOf(DataIntegrityViolationException.class, erro.getCause());
+    }
+
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Violação de " + restricao, new SQLException(), restricao));
+    }
+
     @Test
     @DisplayName("GET /topicos - lista ativos sem filtros")
     void deveListarTopicosAtivos() throws Exception {
@@ -93,18 +179,158 @@ class TopicoControllerTest {
         var topico = new Topico(new DadosCadastroTopico("T", "M", 1L, 1L), autor, curso);
         topico.setId(5L);
 
-        Page<Topico> page = new PageImpl<>(
-                List.of(topico),
+        Page<DadosListagemTopico> page = new PageImpl<>(
+                List.of(new DadosListagemTopico(5L, "T", "M", topico.getDataCriacao(),
+                        StatusTopico.NAO_RESPONDIDO, "Bob", "Backend", 3, 2L)),
                 PageRequest.of(0, 10, Sort.by("dataCriacao")),
                 1
         );
-        when(topicoRepository.findByAtivoTrue(PageRequest.of(0, 10, Sort.by("dataCriacao"))))
+        when(topicoRepository.findListagemByAtivoTrue(PageRequest.of(0, 10, Sort.by("dataCriacao"))))
                 .thenReturn(page);
 
         mockMvc.perform(get("/topicos"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].titulo").value("T"))
-                .andExpect(jsonPath("$.totalElements").value(1));
+                .andExpect(jsonPath("$.content[0].respostas").value(3))
+                .andExpect(jsonPath("$.content[0].versao").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(header().string("ETag", startsWith("W/\"")));
+    }
+
+    @Test
+    @DisplayName("GET /topicos - ETag muda com o contador de respostas mesmo sem mudar a versao")
+    void deveMudarETagDaListagemQuandoContadorMuda() throws Exception {
+        var pagina = PageRequest.of(0, 10, Sort.by("dataCriacao"));
+        var data = LocalDateTime.of(2024, 1, 1, 10, 0);
+        when(topicoRepository.findListagemByAtivoTrue(pagina))
+                .thenReturn(new PageImpl<>(List.of(new DadosListagemTopico(5L, "T", "M", data,
+                        StatusTopico.NAO_RESPONDIDO, "Bob", "Backend", 3, 2L)), pagina, 1))
+                .thenReturn(new PageImpl<>(List.of(new DadosListagemTopico(5L, "T", "M", data,
+                        StatusTopico.NAO_RESPONDIDO, "Bob", "Backend", 4, 2L)), pagina, 1));
+
+        var antes = mockMvc.perform(get("/topicos")).andReturn().getResponse().getHeader("ETag");
+        var depois = mockMvc.perform(get("/topicos")).andReturn().getResponse().getHeader("ETag");
+
+        assertNotEquals(antes, depois);
+    }
+
+    @Test
+    @DisplayName("GET /topicos?curso&ano - filtra pelo id do curso no ano inteiro")
+    void deveListarTopicosPorCursoEAno() throws Exception {
+        var pagina = PageRequest.of(0, 10, Sort.by("dataCriacao"));
+        var topico = new DadosListagemTopico(5L, "T", "M", LocalDateTime.of(2024, 12, 31, 23, 59, 30),
+                StatusTopico.NAO_RESPONDIDO, "Bob", 0, 1L);
+        when(catalogoCursos.buscarPorNome("Java"))
+                .thenReturn(Optional.of(new CatalogoCursos.CursoResumo(9L, "Backend")));
+        when(topicoRepository.findListagemByCursoIdAndPeriodo(
+                9L, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0), pagina))
+                .thenReturn(new PageImpl<>(List.of(topico), pagina, 1));
+
+        mockMvc.perform(get("/topicos").param("curso", "Java").param("ano", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(5))
+                .andExpect(jsonPath("$.content[0].curso").value("Backend"));
+        verify(cursoRepository, never()).findByNome(any());
+    }
+
+    @Test
+    @DisplayName("GET /topicos?curso&ano - curso desconhecido devolve pagina vazia")
+    void deveRetornarPaginaVaziaParaCursoDesconhecido() throws Exception {
+        when(catalogoCursos.buscarPorNome("Cobol")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/topicos").param("curso", "Cobol").param("ano", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+        verifyNoInteractions(topicoRepository);
+    }
+
+    @Test
+    @DisplayName("GET /topicos?cursor - pagina por cursor e devolve o proximo")
+    void deveListarTopicosPorCursor() throws Exception {
+        var data = LocalDateTime.of(2025, 3, 1, 10, 0);
+        var primeiro = new DadosListagemTopico(1L, "A", "M", data, StatusTopico.NAO_RESPONDIDO, "Bob", "Backend", 0, 0L);
+        var segundo = new DadosListagemTopico(2L, "B", "M", data, StatusTopico.NAO_RESPONDIDO, "Bob", "Backend", 0, 0L);
+        when(topicoRepository.findListagemAtivosPorCursor(any(Limit.class)))
+                .thenReturn(List.of(primeiro, segundo));
+
+        var cursor = CursorPaginacao.codificar(data, 1L);
+        mockMvc.perform(get("/topicos").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(1))
+                .andExpect(jsonPath("$.conteudo[0].titulo").value("A"))
+                .andExpect(jsonPath("$.next").value(cursor));
+
+        when(topicoRepository.findListagemAtivosAposCursor(eq(data), eq(1L), any(Limit.class)))
+                .thenReturn(List.of(segundo));
+
+        mockMvc.perform(get("/topicos").param("cursor", cursor).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].titulo").value("B"))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /topicos?cursor&curso&ano - keyset dentro do curso e do ano")
+    void deveListarTopicosPorCursorCursoEAno() throws Exception {
+        var inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        var data = LocalDateTime.of(2024, 5, 1, 10, 0);
+        var primeiro = new DadosListagemTopico(1L, "A", "M", data, StatusTopico.NAO_RESPONDIDO, "Bob", 0, 0L);
+        var segundo = new DadosListagemTopico(2L, "B", "M", data, StatusTopico.NAO_RESPONDIDO, "Bob", 0, 0L);
+        when(catalogoCursos.buscarPorNome("Java")).thenReturn(Optional.of(new CatalogoCursos.CursoResumo(3L, "Backend")));
+        when(topicoRepository.findListagemByCursoIdAposCursor(eq(3L), eq(inicio), eq(0L),
+                eq(inicio.plusYears(1)), any(Limit.class)))
+                .thenReturn(List.of(primeiro, segundo));
+
+        var cursor = CursorPaginacao.codificar(data, 1L);
+        mockMvc.perform(get("/topicos").param("cursor", "").param("curso", "Java").param("ano", "2024")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].titulo").value("A"))
+                .andExpect(jsonPath("$.conteudo[0].curso").value("Backend"))
+                .andExpect(jsonPath("$.next").value(cursor));
+
+        when(topicoRepository.findListagemByCursoIdAposCursor(eq(3L), eq(data), eq(1L),
+                eq(inicio.plusYears(1)), any(Limit.class)))
+                .thenReturn(List.of(segundo));
+
+        mockMvc.perform(get("/topicos").param("cursor", cursor).param("curso", "Java").param("ano", "2024")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].titulo").value("B"))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /topicos?cursor - curso sem ano retorna 400")
+    void deveRetornarBadRequestParaFiltroIncompletoNoCursor() throws Exception {
+        mockMvc.perform(get("/topicos").param("cursor", "").param("curso", "Java"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Informe curso e ano juntos."));
+        verifyNoInteractions(topicoRepository);
+    }
+
+    @Test
+    @DisplayName("GET /topicos?cursor - cursor invalido retorna 400")
+    void deveRetornarBadRequestParaCursorInvalido() throws Exception {
+        mockMvc.perform(get("/topicos").param("cursor", "@@@"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /topicos/busca - devolve os topicos na ordem de relevancia")
+    void deveBuscarTopicosPorRelevancia() throws Exception {
+        var data = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(indiceBuscaTopicos.buscar("spring", 20))
+                .thenReturn(List.of(new ResultadoBusca(2L, 3.1), new ResultadoBusca(1L, 1.4)));
+        when(topicoRepository.findListagemByIdIn(any()))
+                .thenReturn(List.of(
+                        new DadosListagemTopico(1L, "Spring", "M", data, StatusTopico.NAO_RESPONDIDO, "Bob", "Backend", 0, 0L),
+                        new DadosListagemTopico(2L, "Spring Boot", "M", data, StatusTopico.NAO_RESPONDIDO, "Bob", "Backend", 0, 0L)));
+
+        mockMvc.perform(get("/topicos/busca").param("q", "spring"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[1].id").value(1));
     }
 
     @Test
@@ -121,7 +347,88 @@ class TopicoControllerTest {
         mockMvc.perform(get("/topicos/77"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(77))
-                .andExpect(jsonPath("$.titulo").value("D"));
+                .andExpect(jsonPath("$.titulo").value("D"))
+                .andExpect(header().string("ETag", "\"0\""));
+    }
+
+    @Test
+    @DisplayName("GET /topicos/{id} - If-None-Match com a versao atual retorna 304")
+    void deveRetornarNotModifiedQuandoVersaoNaoMudou() throws Exception {
+        when(topicoRepository.findVersaoByIdAndAtivoTrue(77L)).thenReturn(Optional.of(4L));
+
+        mockMvc.perform(get("/topicos/77").header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(content().string(""));
+
+        verify(topicoRepository, never()).findByIdAndAtivoTrue(any());
+    }
+
+    @Test
+    @DisplayName("GET /topicos/{id} - serve o JSON do cache sem consultar o banco")
+    void deveDetalharTopicoDoCache() throws Exception {
+        var json = "{\"id\":77,\"titulo\":\"D\"}".getBytes();
+        when(cacheDetalhesTopicos.buscar(77L))
+                .thenReturn(new CacheDetalhesTopicos.DetalheSerializado(json, 6L));
+
+        mockMvc.perform(get("/topicos/77"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.titulo").value("D"))
+                .andExpect(header().string("ETag", "\"6\""));
+
+        mockMvc.perform(get("/topicos/77").header("If-None-Match", "\"6\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(topicoRepository);
+    }
+
+    @Test
+    @DisplayName("GET /topicos/{id}/respostas - pagina por cursor a partir da ultima resposta")
+    void deveListarRespostasDoTopicoPorCursor() throws Exception {
+        var data = LocalDateTime.of(2024, 5, 1, 10, 0);
+        var solucao = new DadosListagemRespostaTopico(1L, "Solucao", "Ana", true, data);
+        var outra = new DadosListagemRespostaTopico(2L, "Outra", "Bob", false, data.plusMinutes(1));
+        var excedente = new DadosListagemRespostaTopico(3L, "Mais uma", "Carol", false, data.plusMinutes(2));
+        when(respostaRepository.findListagemPorTopico(eq(77L), any()))
+                .thenReturn(List.of(solucao, outra, excedente));
+
+        var next = CursorPaginacao.codificar(false, outra.dataCriacao(), 2L);
+        mockMvc.perform(get("/topicos/77/respostas").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].solucao").value(true))
+                .andExpect(jsonPath("$.conteudo[1].autor").value("Bob"))
+                .andExpect(jsonPath("$.next").value(next));
+
+        when(respostaRepository.findListagemPorTopicoAposCursor(eq(77L), eq(false), eq(outra.dataCriacao()), eq(2L), any()))
+                .thenReturn(List.of(excedente));
+
+        mockMvc.perform(get("/topicos/77/respostas").param("size", "2").param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].id").value(3))
+                .andExpect(jsonPath("$.next").doesNotExist());
+        verify(topicoRepository, never()).findVersaoByIdAndAtivoTrue(any());
+    }
+
+    @Test
+    @DisplayName("GET /topicos/{id}/respostas - cursor no bloco de solucoes completa a pagina com as demais respostas")
+    void deveCompletarPaginaDeRespostasAposAsSolucoes() throws Exception {
+        var data = LocalDateTime.of(2024, 5, 1, 10, 0);
+        var solucao = new DadosListagemRespostaTopico(4L, "Outra solucao", "Ana", true, data.plusMinutes(5));
+        var primeira = new DadosListagemRespostaTopico(1L, "Primeira", "Bob", false, data);
+        var segunda = new DadosListagemRespostaTopico(2L, "Segunda", "Carol", false, data.plusMinutes(1));
+        when(respostaRepository.findListagemPorTopicoAposCursor(eq(77L), eq(true), eq(data), eq(3L), any()))
+                .thenReturn(List.of(solucao));
+        when(respostaRepository.findListagemPorTopicoAposCursor(
+                eq(77L), eq(false), eq(CursorPaginacao.DATA_INICIAL), eq(0L), eq(Limit.of(2))))
+                .thenReturn(List.of(primeira, segunda));
+
+        mockMvc.perform(get("/topicos/77/respostas").param("size", "2")
+                        .param("cursor", CursorPaginacao.codificar(true, data, 3L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].id").value(4))
+                .andExpect(jsonPath("$.conteudo[1].id").value(1))
+                .andExpect(jsonPath("$.next").value(CursorPaginacao.codificar(false, primeira.dataCriacao(), 1L)));
     }
 
     @Test
@@ -144,6 +451,26 @@ class TopicoControllerTest {
                 .andExpect(jsonPath("$.mensagem").value("New Message"));
     }
 
+    @Test
+    @DisplayName("PUT /topicos/{id} - If-Match desatualizado retorna 412")
+    void deveRetornarPreconditionFailedComIfMatchDesatualizado() throws Exception {
+        var autor = new Usuario(5L, "Dave", "dave@mail.com", "pwd");
+        var curso = new Curso(5L, "Kubernetes", "Infra");
+        var topico = new Topico(new DadosCadastroTopico("Old", "Msg", 5L, 5L), autor, curso);
+        topico.setId(500L);
+        topico.setVersao(2L);
+
+        when(topicoRepository.findByIdAndAtivoTrue(500L)).thenReturn(Optional.of(topico));
+
+        mockMvc.perform(put("/topicos/500")
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DadosAtualizacaoTopico("New", "New"))))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(topicoRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     @DisplayName("DELETE /topicos/{id} - exclusao logica")
     void deveExcluirTopico() throws Exception {
@@ -158,4 +485,17 @@ class TopicoControllerTest {
         mockMvc.perform(delete("/topicos/900"))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /topicos/stats - contadores em memoria com Cache-Control publico")
+    void deveRetornarEstatisticasComCacheControl() throws Exception {
+        when(estatisticasTopicos.listar())
+                .thenReturn(List.of(new DadosEstatisticosTopicos("BackEnd", 3, 1, 5)));
+
+        mockMvc.perform(get("/topicos/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andExpect(jsonPath("$[0].curso").value("BackEnd"))
+                .andExpect(jsonPath("$[0].totalRespostas").value(5));
+    }
+}
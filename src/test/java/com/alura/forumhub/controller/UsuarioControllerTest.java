@@ -1,9 +1,11 @@
 package com.alura.forumhub.controller;
 
+import com.alura.forumhub.domain.topico.CacheDetalhesTopicos;
 import com.alura.forumhub.domain.usuario.DadosAtualizacaoUsuario;
 import com.alura.forumhub.domain.usuario.DadosCadastroUsuario;
 import com.alura.forumhub.domain.usuario.Usuario;
 import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import com.alura.forumhub.infra.security.CachePrincipais;
 import com.alura.forumhub.infra.security.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +26,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +47,12 @@ class UsuarioControllerTest {
     @MockitoBean
     private TokenService tokenService;
 
+    @MockitoBean
+    private CachePrincipais cachePrincipais;
+
+    @MockitoBean
+    private CacheDetalhesTopicos cacheDetalhesTopicos;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     // --- helper para construir Usuario com segurança (evita construtores mal mapeados)
@@ -154,6 +163,8 @@ class UsuarioControllerTest {
                 .andExpect(jsonPath("$.id").value(8))
                 .andExpect(jsonPath("$.nome").value("Eve Nova"))
                 .andExpect(jsonPath("$.email").value("eve@mail.com")); // email permanece o mesmo
+
+        verify(cachePrincipais).invalidar("eve@mail.com");
     }
 
     @Test
@@ -171,16 +182,20 @@ class UsuarioControllerTest {
     @Test
     @DisplayName("DELETE /usuario/{id} - exclui usuario existente")
     void deveExcluirUsuario() throws Exception {
-        when(usuarioRepository.existsById(50L)).thenReturn(true);
+        var u = usuario(50L, "Frank", "frank@mail.com", "x");
+        when(usuarioRepository.findById(50L)).thenReturn(Optional.of(u));
 
         mockMvc.perform(delete("/usuario/50"))
                 .andExpect(status().isNoContent());
+
+        verify(usuarioRepository).delete(u);
+        verify(cachePrincipais).invalidar("frank@mail.com");
     }
 
     @Test
     @DisplayName("DELETE /usuario/{id} - retorna 404 se nao encontrado")
     void deveRetornar404AoExcluirUsuarioInexistente() throws Exception {
-        when(usuarioRepository.existsById(51L)).thenReturn(false);
+        when(usuarioRepository.findById(51L)).thenReturn(Optional.empty());
 
         mockMvc.perform(delete("/usuario/51"))
                 .andExpect(status().isNotFound());
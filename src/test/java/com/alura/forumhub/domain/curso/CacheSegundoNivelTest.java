@@ -0,0 +1,84 @@
+package com.alura.forumhub.domain.curso;
+
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.alura.forumhub.infra.metricas.FixturesTeste.prefixo;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarCurso;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sem transação de teste: o cache READ_WRITE só é preenchido depois do commit
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Curso curso;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        curso = salvarCurso(cursoRepository, prefixo("cache"));
+    }
+
+    @Test
+    @DisplayName("findById de curso é servido pelo cache sem SQL")
+    void buscaPorIdNaoVaiAoBanco() {
+        cursoRepository.findById(curso.getId());
+        estatisticas.clear();
+
+        var encontrado = cursoRepository.findById(curso.getId());
+
+        assertThat(encontrado).isPresent();
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+        assertThat(estatisticas.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByNome é servido pelo query cache sem SQL")
+    void buscaPorNomeNaoVaiAoBanco() {
+        cursoRepository.findByNome(curso.getNome());
+        estatisticas.clear();
+
+        var encontrado = cursoRepository.findByNome(curso.getNome());
+
+        assertThat(encontrado).map(Curso::getId).contains(curso.getId());
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+        assertThat(estatisticas.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Reconciliar contadores não esvazia o cache de cursos")
+    void reconciliacaoNaoInvalidaCacheDeCursos() {
+        cursoRepository.findById(curso.getId());
+
+        topicoRepository.reconciliarContadoresRespostas(1L, Long.MAX_VALUE);
+        estatisticas.clear();
+
+        var encontrado = cursoRepository.findById(curso.getId());
+
+        assertThat(encontrado).isPresent();
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+        assertThat(estatisticas.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+}
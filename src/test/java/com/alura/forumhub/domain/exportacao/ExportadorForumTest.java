@@ -0,0 +1,108 @@
+package com.alura.forumhub.domain.exportacao;
+
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.Resposta;
+import com.alura.forumhub.domain.resposta.RespostaRepository;
+import com.alura.forumhub.domain.topico.DadosCadastroTopico;
+import com.alura.forumhub.domain.topico.Topico;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static com.alura.forumhub.infra.metricas.FixturesTeste.prefixo;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarCurso;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarUsuario;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "forumhub.exportacao.intervalo-limpeza=2")
+class ExportadorForumTest {
+
+    @Autowired
+    private ExportadorForum exportadorForum;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    private String curso;
+
+    @BeforeEach
+    void setUp() {
+        var prefixo = prefixo("exp");
+
+        var autor = salvarUsuario(usuarioRepository, "Ana", prefixo);
+        var cursoSalvo = salvarCurso(cursoRepository, prefixo);
+        curso = cursoSalvo.getNome();
+
+        for (int i = 1; i <= 3; i++) {
+            var topico = new Topico(new DadosCadastroTopico("Tópico " + i + " " + prefixo,
+                    "Mensagem, com \"aspas\" " + i, autor.getId(), cursoSalvo.getId()), autor, cursoSalvo);
+            topico.setDataCriacao(LocalDateTime.of(2023 + i % 2, 5, 1, 10, 0));
+            topicoRepository.save(topico);
+            respostaRepository.save(Resposta.builder()
+                    .mensagem("Resposta " + i)
+                    .dataCriacao(topico.getDataCriacao())
+                    .solucao(false)
+                    .topico(topico)
+                    .autor(autor)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("Exporta tópicos em NDJSON aplicando filtro de curso e ano")
+    void deveExportarTopicosEmNdjson() {
+        var saida = new ByteArrayOutputStream();
+
+        exportadorForum.exportarTopicos(new FiltroExportacao(curso, 2024, true), FormatoExportacao.NDJSON, saida);
+
+        var linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas).allSatisfy(linha -> assertThat(linha)
+                .startsWith("{\"id\":")
+                .contains("\"curso\":\"" + curso + "\""));
+    }
+
+    @Test
+    @DisplayName("Exporta respostas em CSV com cabeçalho e escape")
+    void deveExportarRespostasEmCsv() {
+        var saida = new ByteArrayOutputStream();
+
+        exportadorForum.exportarRespostas(new FiltroExportacao(curso, null, null), FormatoExportacao.CSV, saida);
+
+        var linhas = saida.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(linhas).hasSize(4);
+        assertThat(linhas[0]).isEqualTo("id,topicoId,mensagem,dataCriacao,solucao,autor");
+        assertThat(linhas[1]).contains(",Resposta 1,").endsWith(",false,Ana");
+    }
+
+    @Test
+    @DisplayName("Campos com vírgula e aspas saem entre aspas no CSV")
+    void deveEscaparCamposNoCsv() {
+        var saida = new ByteArrayOutputStream();
+
+        exportadorForum.exportarTopicos(new FiltroExportacao(curso, null, null), FormatoExportacao.CSV, saida);
+
+        assertThat(saida.toString(StandardCharsets.UTF_8)).contains("\"Mensagem, com \"\"aspas\"\" 1\"");
+    }
+}
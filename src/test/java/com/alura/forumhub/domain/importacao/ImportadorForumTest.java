@@ -0,0 +1,116 @@
+package com.alura.forumhub.domain.importacao;
+
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import com.alura.forumhub.domain.topico.busca.IndiceBuscaTopicos;
+import com.alura.forumhub.domain.topico.busca.ResultadoBusca;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.alura.forumhub.infra.metricas.FixturesTeste.prefixo;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarCurso;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarUsuario;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "forumhub.importacao.tamanho-lote=2")
+class ImportadorForumTest {
+
+    @Autowired
+    private ImportadorForum importadorForum;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private IndiceBuscaTopicos indiceBuscaTopicos;
+
+    private String prefixo;
+    private String email;
+    private String curso;
+
+    @BeforeEach
+    void setUp() {
+        prefixo = prefixo("imp");
+        email = salvarUsuario(usuarioRepository, "Importador", prefixo).getEmail();
+        curso = salvarCurso(cursoRepository, prefixo).getNome();
+    }
+
+    private String ndjson() {
+        return String.join("\n",
+                topico("1", "Spring", "Como configurar?"),
+                topico("2", "JPA", "Lazy loading"),
+                resposta("1", "Use application.properties"),
+                resposta("1", "Veja a documentação"),
+                resposta("9", "Órfã"));
+    }
+
+    private String topico(String id, String titulo, String mensagem) {
+        return """
+                {"tipo":"topico","id":"%s-%s","titulo":"%s %s","mensagem":"%s","autor":"%s","curso":"%s","dataCriacao":"2020-01-01T10:00:00"}"""
+                .formatted(prefixo, id, titulo, prefixo, mensagem, email, curso);
+    }
+
+    private String resposta(String topico, String mensagem) {
+        return """
+                {"tipo":"resposta","topico":"%s-%s","mensagem":"%s","autor":"%s"}"""
+                .formatted(prefixo, topico, mensagem, email);
+    }
+
+    private DadosImportacao importar(String corpo, Long retomar) {
+        return importadorForum.importar(new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8)), retomar);
+    }
+
+    @Test
+    @DisplayName("Importa tópicos e respostas em lotes e reconcilia os contadores")
+    void deveImportarEmLotes() {
+        var resultado = importar(ndjson(), null);
+
+        assertThat(resultado.status()).isEqualTo(StatusImportacao.CONCLUIDA);
+        assertThat(resultado.registrosProcessados()).isEqualTo(5);
+        assertThat(resultado.topicosImportados()).isEqualTo(2);
+        assertThat(resultado.respostasImportadas()).isEqualTo(2);
+        assertThat(resultado.erros()).isEqualTo(1);
+        assertThat(resultado.ultimoErro()).contains("Registro 5");
+
+        var topicoId = topicoRepository.findIdByOrigemId(prefixo + "-1").orElseThrow();
+        assertThat(topicoRepository.findById(topicoId).orElseThrow().getRespostasCount()).isEqualTo(2);
+        assertThat(indiceBuscaTopicos.buscar(prefixo, 10)).extracting(ResultadoBusca::id)
+                .containsExactlyInAnyOrder(topicoId, topicoRepository.findIdByOrigemId(prefixo + "-2").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Retoma uma importação interrompida a partir do último lote gravado")
+    void deveRetomarImportacaoInterrompida() {
+        var interrompido = topico("1", "Spring", "Como configurar?") + "\n"
+                + topico("2", "JPA", "Lazy loading") + "\n"
+                + "{\"tipo\": \"resposta\", nao e json";
+
+        var falha = importar(interrompido, null);
+        assertThat(falha.status()).isEqualTo(StatusImportacao.FALHOU);
+        assertThat(falha.registrosProcessados()).isEqualTo(2);
+
+        var retomada = importar(ndjson(), falha.id());
+
+        assertThat(retomada.status()).isEqualTo(StatusImportacao.CONCLUIDA);
+        assertThat(retomada.registrosProcessados()).isEqualTo(5);
+        assertThat(retomada.topicosImportados()).isEqualTo(2);
+        assertThat(retomada.respostasImportadas()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,26 @@
+package com.alura.forumhub.domain.planos;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Registrado via hibernate.session_factory.statement_inspector; guarda o SQL gerado para o EXPLAIN
+public class CapturaSql implements StatementInspector {
+
+    private static final List<String> CAPTURADOS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        CAPTURADOS.add(sql);
+        return sql;
+    }
+
+    static void limpar() {
+        CAPTURADOS.clear();
+    }
+
+    static List<String> capturados() {
+        return List.copyOf(CAPTURADOS);
+    }
+}
@@ -0,0 +1,296 @@
+package com.alura.forumhub.domain.planos;
+
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.RespostaRepository;
+import com.alura.forumhub.domain.topico.ConteudoTopico;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import com.alura.forumhub.domain.topico.arquivo.TopicoArquivadoRepository;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import com.alura.forumhub.infra.paginacao.CursorPaginacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Roda EXPLAIN sobre o SQL que o Hibernate gera para as consultas dos repositórios, contra o schema
+// das migrações Flyway, e falha quando alguma tabela acima do limite de linhas é lida por tableScan.
+// O limite pode ser ajustado com -Dforumhub.planos.limite-linhas=N.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:planos;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.alura.forumhub.domain.planos.CapturaSql"
+})
+class PlanosDeConsultaTest {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\*\\s*(?:\\w+\\.)?(\\w+)\\.tableScan", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern LEITURA_RESPOSTAS = Pattern.compile(
+            "\\.\"RESPOSTAS\"[^/]*/\\*\\s*(?:\\w+\\.)?(\\w+):.*?scanCount: (\\d+)", Pattern.DOTALL);
+
+    private static final int CURSOS = 200;
+    private static final int USUARIOS = 500;
+    private static final int TOPICOS = 3000;
+    private static final int RESPOSTAS = 3000;
+    // Tópico com muitas respostas para os cursores profundos da listagem de respostas
+    private static final long TOPICO_LONGO = 41;
+    private static final int RESPOSTAS_TOPICO_LONGO = 2000;
+    private static final int SOLUCOES_TOPICO_LONGO = 50;
+
+    private static boolean semeado;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private TopicoArquivadoRepository topicoArquivadoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Value("${forumhub.planos.limite-linhas:100}")
+    private long limiteLinhas;
+
+    private final LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @BeforeEach
+    void semear() throws SQLException {
+        if (!semeado) {
+            try (var conexao = dataSource.getConnection(); var statement = conexao.createStatement()) {
+                statement.execute("""
+                        insert into cursos (nome, categoria)
+                        select concat('Curso ', x), concat('Categoria ', mod(x, 10)) from system_range(1, %d)
+                        """.formatted(CURSOS));
+                statement.execute("""
+                        insert into usuarios (nome, email, senha, ativo)
+                        select concat('Usuario ', x), concat('usuario', x, '@forumhub.com'), 'senha', 1
+                        from system_range(1, %d)
+                        """.formatted(USUARIOS));
+                statement.execute("""
+                        insert into topicos (titulo, mensagem, data_criacao, status, autor_id, curso_id, ativo,
+                                             respostas_count, ultima_atividade, hash_conteudo)
+                        select concat('Topico ', x), concat('Mensagem ', x),
+                               dateadd('MINUTE', x, timestamp '2025-01-01 00:00:00'), 'NAO_RESPONDIDO',
+                               mod(x, %d) + 1, mod(x, %d) + 1, case when mod(x, 10) = 0 then 0 else 1 end,
+                               1, dateadd('MINUTE', x, timestamp '2025-01-01 00:00:00'), lpad(cast(x as varchar), 64, '0')
+                        from system_range(1, %d)
+                        """.formatted(USUARIOS, CURSOS, TOPICOS));
+                statement.execute("""
+                        insert into respostas (mensagem, data_criacao, solucao, topico_id, autor_id)
+                        select concat('Resposta ', x), dateadd('MINUTE', x, timestamp '2025-01-01 00:00:00'),
+                               false, mod(x, %d) + 1, mod(x, %d) + 1
+                        from system_range(1, %d)
+                        """.formatted(TOPICOS, USUARIOS, RESPOSTAS));
+                statement.execute("""
+                        insert into respostas (mensagem, data_criacao, solucao, topico_id, autor_id)
+                        select concat('Resposta longa ', x), dateadd('MINUTE', x, timestamp '2025-03-01 00:00:00'),
+                               x <= %d, %d, mod(x, %d) + 1
+                        from system_range(1, %d)
+                        """.formatted(SOLUCOES_TOPICO_LONGO, TOPICO_LONGO, USUARIOS, RESPOSTAS_TOPICO_LONGO));
+                statement.execute("analyze");
+            }
+            semeado = true;
+        }
+        CapturaSql.limpar();
+    }
+
+    @Test
+    @DisplayName("TopicoRepository - consultas usam índices")
+    void consultasDeTopicosUsamIndices() throws SQLException {
+        var pagina = PageRequest.of(0, 10, Sort.by("dataCriacao"));
+
+        topicoRepository.existsByHashConteudo(ConteudoTopico.hash("Topico", "Mensagem"));
+        topicoRepository.findByIdAndAtivoTrue(42L);
+        topicoRepository.findListagemByAtivoTrue(pagina);
+        topicoRepository.findListagemByCursoIdAndPeriodo(7L, inicio, inicio.plusDays(1), pagina);
+        topicoRepository.findListagemAtivosPorCursor(Limit.of(11));
+        topicoRepository.findListagemAtivosAposCursor(inicio.plusHours(10), 600L, Limit.of(11));
+        topicoRepository.findListagemByCursoIdAposCursor(7L, inicio, 0L, inicio.plusDays(1), Limit.of(11));
+        topicoRepository.findListagemByIdIn(List.of(1L, 2L, 3L));
+        topicoRepository.findCriacoesAtivasDesde(inicio.plusDays(2));
+        topicoRepository.findMaxId();
+
+        assertSemTableScan();
+    }
+
+    @Test
+    @DisplayName("RespostaRepository - consultas usam índices")
+    void consultasDeRespostasUsamIndices() throws SQLException {
+        respostaRepository.findById(42L);
+        respostaRepository.findListagemAposId(1500L, Limit.of(11));
+        respostaRepository.findListagemPorTopico(42L, Limit.of(11));
+        respostaRepository.findListagemPorTopicoAposCursor(42L, false, inicio, 1500L, Limit.of(11));
+
+        assertSemTableScan();
+    }
+
+    @Test
+    @DisplayName("RespostaRepository - cursor profundo nas respostas do tópico lê só a página do índice")
+    void cursorProfundoNasRespostasDoTopicoNaoVarreOTopico() throws SQLException {
+        var base = LocalDateTime.of(2025, 3, 1, 0, 0);
+        var limite = Limit.of(11);
+
+        // Parâmetros na ordem em que aparecem no SQL: tópico, solucao, data (duas vezes), id e limite
+        respostaRepository.findListagemPorTopicoAposCursor(TOPICO_LONGO, false, base.plusMinutes(1900), 0L, limite);
+        assertLeituraDeRespostasNoMaximo(limite.max(), ultimoCapturado(),
+                TOPICO_LONGO, false, base.plusMinutes(1900), base.plusMinutes(1900), 0L, limite.max());
+
+        respostaRepository.findListagemPorTopicoAposCursor(TOPICO_LONGO, true, base.plusMinutes(45), 0L, limite);
+        assertLeituraDeRespostasNoMaximo(limite.max(), ultimoCapturado(),
+                TOPICO_LONGO, true, base.plusMinutes(45), base.plusMinutes(45), 0L, limite.max());
+
+        // Início das respostas sem solução, usado para completar a página que saiu do bloco de soluções
+        var dataInicial = CursorPaginacao.DATA_INICIAL;
+        respostaRepository.findListagemPorTopicoAposCursor(TOPICO_LONGO, false, dataInicial, 0L, limite);
+        assertLeituraDeRespostasNoMaximo(limite.max(), ultimoCapturado(),
+                TOPICO_LONGO, false, dataInicial, dataInicial, 0L, limite.max());
+    }
+
+    @Test
+    @DisplayName("TopicoArquivadoRepository - seleção do lote usa índice")
+    void consultasDoArquivamentoUsamIndices() throws SQLException {
+        topicoArquivadoRepository.findIdsParaArquivar(1500L, inicio.plusDays(1), Limit.of(200));
+
+        assertSemTableScan();
+    }
+
+    @Test
+    @DisplayName("UsuarioRepository - consultas usam índices")
+    void consultasDeUsuariosUsamIndices() throws SQLException {
+        usuarioRepository.findByEmail("usuario42@forumhub.com");
+        usuarioRepository.existsByEmail("usuario42@forumhub.com");
+        usuarioRepository.findListagemAposId(250L, Limit.of(11));
+
+        assertSemTableScan();
+    }
+
+    @Test
+    @DisplayName("CursoRepository - consultas usam índices")
+    void consultasDeCursosUsamIndices() throws SQLException {
+        cursoRepository.findByNome("Curso 7");
+        cursoRepository.findById(7L);
+
+        assertSemTableScan();
+    }
+
+    private void assertSemTableScan() throws SQLException {
+        var consultas = CapturaSql.capturados().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .distinct()
+                .toList();
+        assertThat(consultas).isNotEmpty();
+
+        var violacoes = new ArrayList<String>();
+        try (var conexao = dataSource.getConnection()) {
+            for (var sql : consultas) {
+                var plano = explicar(conexao, sql);
+                var scan = TABLE_SCAN.matcher(plano);
+                while (scan.find()) {
+                    var tabela = scan.group(1);
+                    var linhas = contarLinhas(conexao, tabela);
+                    if (linhas > limiteLinhas) {
+                        violacoes.add("%s (%d linhas)%n%s".formatted(tabela, linhas, plano));
+                    }
+                }
+            }
+        }
+
+        assertThat(violacoes)
+                .as("consultas com tableScan acima de %d linhas", limiteLinhas)
+                .isEmpty();
+    }
+
+    private String ultimoCapturado() {
+        var capturados = CapturaSql.capturados();
+        return capturados.get(capturados.size() - 1);
+    }
+
+    // EXPLAIN ANALYZE com os valores reais: o scanCount de respostas mostra quantas entradas do índice foram lidas
+    private void assertLeituraDeRespostasNoMaximo(int maximo, String sql, Object... valores) throws SQLException {
+        String plano;
+        try (var conexao = dataSource.getConnection();
+             var explain = conexao.prepareStatement("explain analyze " + sql)) {
+            for (int i = 0; i < valores.length; i++) {
+                explain.setObject(i + 1, valores[i]);
+            }
+            try (var resultado = explain.executeQuery()) {
+                resultado.next();
+                plano = resultado.getString(1);
+            }
+        }
+
+        var leitura = LEITURA_RESPOSTAS.matcher(plano);
+        assertThat(leitura.find()).as("leitura de respostas no plano%n%s", plano).isTrue();
+        assertThat(leitura.group(1)).as(plano).isEqualToIgnoringCase("idx_respostas_topico_solucao_data_criacao_id");
+        assertThat(Integer.parseInt(leitura.group(2))).as(plano).isLessThanOrEqualTo(maximo);
+    }
+
+    private String explicar(Connection conexao, String sql) throws SQLException {
+        try (var explain = conexao.prepareStatement("explain " + sql)) {
+            vincularParametros(explain);
+            try (var resultado = explain.executeQuery()) {
+                var plano = new StringBuilder();
+                while (resultado.next()) {
+                    plano.append(resultado.getString(1)).append('\n');
+                }
+                return plano.toString();
+            }
+        }
+    }
+
+    // Os valores não importam para o plano, só o tipo: o H2 infere o tipo pela coluna comparada
+    private void vincularParametros(PreparedStatement statement) throws SQLException {
+        var metadados = statement.getParameterMetaData();
+        for (int i = 1; i <= metadados.getParameterCount(); i++) {
+            switch (metadados.getParameterType(i)) {
+                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE, Types.DATE ->
+                        statement.setTimestamp(i, Timestamp.valueOf(inicio));
+                case Types.BOOLEAN, Types.BIT -> statement.setBoolean(i, true);
+                default -> statement.setString(i, "1");
+            }
+        }
+    }
+
+    private long contarLinhas(Connection conexao, String tabela) throws SQLException {
+        try (var statement = conexao.createStatement();
+             var resultado = statement.executeQuery("select count(*) from " + tabela)) {
+            resultado.next();
+            return resultado.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.alura.forumhub.domain.topico;
+
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.Resposta;
+import com.alura.forumhub.domain.resposta.RespostaCadastradaEvento;
+import com.alura.forumhub.domain.resposta.RespostaMarcadaComoSolucaoEvento;
+import com.alura.forumhub.domain.resposta.RespostaRepository;
+import com.alura.forumhub.domain.usuario.Usuario;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.alura.forumhub.infra.metricas.FixturesTeste.prefixo;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarCurso;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarUsuario;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class AtualizadorStatusTopicosTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AtualizadorStatusTopicos atualizadorStatusTopicos;
+
+    @MockitoSpyBean
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private Usuario autor;
+    private Topico topico;
+
+    @BeforeEach
+    void setUp() {
+        var prefixo = prefixo("status");
+
+        autor = salvarUsuario(usuarioRepository, "Autor", prefixo);
+        var curso = salvarCurso(cursoRepository, prefixo);
+
+        topico = topicoRepository.save(new Topico(
+                new DadosCadastroTopico("Tópico " + prefixo, "Mensagem", autor.getId(), curso.getId()), autor, curso));
+    }
+
+    private Resposta responder(boolean solucao) {
+        return respostaRepository.save(Resposta.builder()
+                .mensagem("Resposta")
+                .autor(autor)
+                .topico(topico)
+                .solucao(solucao)
+                .dataCriacao(LocalDateTime.now())
+                .build());
+    }
+
+    private StatusTopico aguardarStatus(StatusTopico esperado) throws InterruptedException {
+        var limite = System.currentTimeMillis() + 5_000;
+        StatusTopico atual;
+        do {
+            atualizadorStatusTopicos.drenar();
+            atual = topicoRepository.findById(topico.getId()).orElseThrow().getStatus();
+            if (atual == esperado) {
+                return atual;
+            }
+            Thread.sleep(50);
+        } while (System.currentTimeMillis() < limite);
+        return atual;
+    }
+
+    @Test
+    @DisplayName("Eventos repetidos do mesmo tópico resultam em um único status recalculado")
+    void deveRecalcularStatusAPartirDosEventos() throws InterruptedException {
+        var resposta = responder(false);
+        for (int i = 0; i < 3; i++) {
+            eventPublisher.publishEvent(new RespostaCadastradaEvento(resposta.getId(), topico.getId(), "Backend", true));
+        }
+
+        assertThat(aguardarStatus(StatusTopico.NAO_SOLUCIONADO)).isEqualTo(StatusTopico.NAO_SOLUCIONADO);
+
+        var solucao = responder(true);
+        eventPublisher.publishEvent(new RespostaMarcadaComoSolucaoEvento(solucao.getId(), topico.getId(), true));
+
+        assertThat(aguardarStatus(StatusTopico.SOLUCIONADO)).isEqualTo(StatusTopico.SOLUCIONADO);
+    }
+
+    @Test
+    @DisplayName("Lote que falha volta para a fila e o worker tenta de novo")
+    void deveReprocessarLoteQueFalhou() throws InterruptedException {
+        responder(false);
+        doThrow(new QueryTimeoutException("Falha simulada"))
+                .when(topicoRepository).atualizarStatus(anyCollection(), any());
+
+        eventPublisher.publishEvent(new RespostaCadastradaEvento(null, topico.getId(), "Backend", true));
+        verify(topicoRepository, timeout(2_000)).atualizarStatus(anyCollection(), any());
+        // O repositório volta a funcionar; sem drenar(), quem reprocessa é o próprio worker, depois do backoff
+        reset(topicoRepository);
+
+        var limite = System.currentTimeMillis() + 5_000;
+        var atual = topico.getStatus();
+        while (atual != StatusTopico.NAO_SOLUCIONADO && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+            atual = topicoRepository.findById(topico.getId()).orElseThrow().getStatus();
+        }
+        assertThat(atual).isEqualTo(StatusTopico.NAO_SOLUCIONADO);
+    }
+
+    @Test
+    @DisplayName("Espera após falhas seguidas dobra até o teto")
+    void deveCalcularBackoffExponencialComTeto() {
+        assertThat(AtualizadorStatusTopicos.esperaAposFalha(1)).isEqualTo(Duration.ofMillis(200));
+        assertThat(AtualizadorStatusTopicos.esperaAposFalha(2)).isEqualTo(Duration.ofMillis(400));
+        assertThat(AtualizadorStatusTopicos.esperaAposFalha(5)).isEqualTo(Duration.ofMillis(3200));
+        assertThat(AtualizadorStatusTopicos.esperaAposFalha(6)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(AtualizadorStatusTopicos.esperaAposFalha(100)).isEqualTo(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,69 @@
+package com.alura.forumhub.domain.topico;
+
+import com.alura.forumhub.domain.curso.Curso;
+import com.alura.forumhub.domain.usuario.Usuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Construção dos DTOs a partir da entidade e serialização Jackson de uma página de listagem
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeamentoTopicoBenchmark {
+
+    @Param({"10", "100"})
+    public int tamanhoPagina;
+
+    private Topico topico;
+
+    private Page<DadosListagemTopico> pagina;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        var autor = new Usuario();
+        autor.setId(1L);
+        autor.setNome("Autor Benchmark");
+
+        var curso = Curso.builder().id(1L).nome("Spring Boot").categoria("BackEnd").build();
+
+        topico = new Topico(new DadosCadastroTopico("Título do tópico", "Mensagem ".repeat(40), 1L, 1L), autor, curso);
+        topico.setId(1L);
+
+        var conteudo = new ArrayList<DadosListagemTopico>();
+        for (int i = 0; i < tamanhoPagina; i++) {
+            conteudo.add(new DadosListagemTopico(topico));
+        }
+        var paginacao = PageRequest.of(0, tamanhoPagina, Sort.by("dataCriacao"));
+        pagina = new PageImpl<>(conteudo, paginacao, tamanhoPagina * 50L);
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public DadosListagemTopico criarDadosListagem() {
+        return new DadosListagemTopico(topico);
+    }
+
+    @Benchmark
+    public DadosDetalhamentoTopico criarDadosDetalhamento() {
+        return new DadosDetalhamentoTopico(topico);
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaListagem() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,122 @@
+package com.alura.forumhub.domain.topico.arquivo;
+
+import com.alura.forumhub.domain.curso.Curso;
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.Resposta;
+import com.alura.forumhub.domain.resposta.RespostaRepository;
+import com.alura.forumhub.domain.topico.DadosCadastroTopico;
+import com.alura.forumhub.domain.topico.Topico;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import com.alura.forumhub.domain.usuario.Usuario;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static com.alura.forumhub.infra.metricas.FixturesTeste.prefixo;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarCurso;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarUsuario;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "forumhub.topicos.arquivamento.tamanho-lote=2",
+        "forumhub.topicos.arquivamento.pausa=0ms"
+})
+class ArquivamentoTopicosTest {
+
+    @Autowired
+    private ArquivamentoTopicos arquivamentoTopicos;
+
+    @Autowired
+    private TopicoArquivadoRepository topicoArquivadoRepository;
+
+    @Autowired
+    private RespostaArquivadaRepository respostaArquivadaRepository;
+
+    @Autowired
+    private ProgressoArquivamentoRepository progressoRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private String prefixo;
+    private Usuario autor;
+    private Curso curso;
+
+    @BeforeEach
+    void setUp() {
+        prefixo = prefixo("arquivo");
+
+        autor = salvarUsuario(usuarioRepository, "Autor", prefixo);
+        curso = salvarCurso(cursoRepository, prefixo);
+
+        // O perfil de teste usa create-drop, sem a linha que a V12 semeia
+        if (!progressoRepository.existsById(ProgressoArquivamento.ID)) {
+            progressoRepository.save(new ProgressoArquivamento());
+        }
+    }
+
+    private Topico topico(String titulo, LocalDateTime dataExclusao) {
+        var topico = new Topico(new DadosCadastroTopico(titulo + " " + prefixo, "Mensagem", autor.getId(), curso.getId()),
+                autor, curso);
+        if (dataExclusao != null) {
+            topico.excluir();
+            topico.setDataExclusao(dataExclusao);
+        }
+        topicoRepository.save(topico);
+        respostaRepository.save(Resposta.builder()
+                .mensagem("Resposta de " + titulo)
+                .autor(autor)
+                .topico(topico)
+                .solucao(false)
+                .dataCriacao(LocalDateTime.now())
+                .build());
+        return topico;
+    }
+
+    @Test
+    @DisplayName("Move em lotes só os tópicos excluídos antes da carência, com as respostas")
+    void deveArquivarTopicosExcluidosForaDaCarencia() {
+        var antigo = LocalDateTime.now().minusDays(60);
+        var arquivaveis = IntStream.range(0, 5)
+                .mapToObj(i -> topico("Antigo " + i, antigo).getId())
+                .toList();
+        var recente = topico("Recente", LocalDateTime.now().minusDays(1));
+        var ativo = topico("Ativo", null);
+
+        var total = arquivamentoTopicos.executar().join();
+
+        assertThat(total).isGreaterThanOrEqualTo(5);
+
+        assertThat(topicoRepository.findAllById(arquivaveis)).isEmpty();
+        assertThat(topicoArquivadoRepository.findAllById(arquivaveis)).hasSize(5);
+        for (var id : arquivaveis) {
+            assertThat(respostaArquivadaRepository.findByTopicoIdOrderBySolucaoDescDataCriacaoAscIdAsc(id)).hasSize(1);
+        }
+        assertThat(topicoRepository.findById(recente.getId())).isPresent();
+        assertThat(topicoRepository.findById(ativo.getId())).isPresent();
+        assertThat(topicoArquivadoRepository.findById(recente.getId())).isEmpty();
+
+        var progresso = progressoRepository.findById(ProgressoArquivamento.ID).orElseThrow();
+        assertThat(progresso.getUltimoId()).isZero();
+        assertThat(progresso.getTopicosArquivados()).isGreaterThanOrEqualTo(5);
+    }
+}
@@ -0,0 +1,66 @@
+package com.alura.forumhub.domain.topico.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceBuscaTopicosTest {
+
+    private IndiceBuscaTopicos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBuscaTopicos();
+        indice.indexar(1L, "Dúvida sobre injeção de dependências", "Como funciona a injeção no Spring?");
+        indice.indexar(2L, "Erro de conexão", "Não consigo conectar no banco, aparece erro de injeção de SQL");
+        indice.indexar(3L, "Animações em CSS", "Transições e animações");
+    }
+
+    @Test
+    void deveIgnorarAcentosEMaiusculas() {
+        var resultados = indice.buscar("INJECAO", 10);
+
+        assertEquals(2, resultados.size());
+        assertEquals(1L, resultados.get(0).id());
+    }
+
+    @Test
+    void deveRespeitarRemocaoEReindexacao() {
+        indice.remover(1L);
+        indice.indexar(3L, "Animações em CSS", "Sem relação com injeção");
+
+        var resultados = indice.buscar("injeção", 10);
+
+        assertEquals(2, resultados.size());
+        assertTrue(resultados.stream().noneMatch(r -> r.id() == 1L));
+    }
+
+    @Test
+    void deveRetornarVazioParaConsultaSoComStopwords() {
+        assertTrue(indice.buscar("de para com", 10).isEmpty());
+    }
+
+    @Test
+    void naoDeveContarPostagensObsoletasNoDf() {
+        var limpo = new IndiceBuscaTopicos();
+        limpo.indexar(1L, "Dúvida sobre injeção de dependências", "Como funciona a injeção no Spring?");
+        limpo.indexar(2L, "Erro de conexão", "Não consigo conectar no banco, aparece erro de injeção de SQL");
+        limpo.indexar(3L, "Animações em CSS", "Transições e animações");
+
+        // Mesmo conteúdo final, mas com postagens obsoletas de "injeção" abaixo do limite de compactação
+        indice.indexar(2L, "Erro de conexão", "Não consigo conectar no banco, aparece erro de injeção de SQL");
+        indice.indexar(3L, "Animações em CSS", "Sem relação com injeção");
+        indice.indexar(3L, "Animações em CSS", "Transições e animações");
+
+        var esperado = limpo.buscar("injeção", 10);
+        var resultados = indice.buscar("injeção", 10);
+
+        assertEquals(esperado.size(), resultados.size());
+        for (int i = 0; i < esperado.size(); i++) {
+            assertEquals(esperado.get(i).id(), resultados.get(i).id());
+            assertEquals(esperado.get(i).relevancia(), resultados.get(i).relevancia(), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.alura.forumhub.domain.topico.estatisticas;
+
+import com.alura.forumhub.domain.curso.ContagemPorCategoria;
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.resposta.RespostaCadastradaEvento;
+import com.alura.forumhub.domain.resposta.RespostaExcluidaEvento;
+import com.alura.forumhub.domain.topico.DadosEstatisticosTopicos;
+import com.alura.forumhub.domain.topico.TopicoCadastradoEvento;
+import com.alura.forumhub.domain.topico.TopicoExcluidoEvento;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EstatisticasTopicosTest {
+
+    private final EstatisticasTopicos estatisticas = new EstatisticasTopicos();
+
+    @Test
+    @DisplayName("Respostas de tópicos excluídos não mexem nos contadores")
+    void deveIgnorarRespostasDeTopicosInativos() {
+        var criacao = LocalDateTime.now();
+        estatisticas.aoCadastrarTopico(new TopicoCadastradoEvento(1L, "T", "M", "Backend", criacao));
+        estatisticas.aoCadastrarResposta(new RespostaCadastradaEvento(10L, 1L, "Backend", true));
+        estatisticas.aoCadastrarResposta(new RespostaCadastradaEvento(11L, 1L, "Backend", true));
+
+        estatisticas.aoExcluirTopico(new TopicoExcluidoEvento(1L, "Backend", criacao, 2));
+        estatisticas.aoCadastrarResposta(new RespostaCadastradaEvento(12L, 1L, "Backend", false));
+        estatisticas.aoExcluirResposta(new RespostaExcluidaEvento(10L, 1L, "Backend", false));
+
+        assertThat(estatisticas.listar()).containsExactly(new DadosEstatisticosTopicos("Backend", 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Eventos que chegam durante a recarga entram no mapa novo")
+    void naoDevePerderEventosDuranteARecarga() {
+        var cursoRepository = mock(CursoRepository.class);
+        var topicoRepository = mock(TopicoRepository.class);
+        ReflectionTestUtils.setField(estatisticas, "cursoRepository", cursoRepository);
+        ReflectionTestUtils.setField(estatisticas, "topicoRepository", topicoRepository);
+
+        var contagem = mock(ContagemPorCategoria.class);
+        when(contagem.getCategoria()).thenReturn("Backend");
+        when(contagem.getTopicos()).thenReturn(5L);
+        when(contagem.getRespostas()).thenReturn(7L);
+        when(cursoRepository.contarTopicosAtivosPorCategoria()).thenReturn(List.of(contagem));
+        // Commits entre as duas consultas de carga: já fora da contagem lida acima
+        when(topicoRepository.findCriacoesAtivasDesde(any())).thenAnswer(invocacao -> {
+            estatisticas.aoCadastrarTopico(new TopicoCadastradoEvento(1L, "T", "M", "Backend", LocalDateTime.now()));
+            estatisticas.aoCadastrarResposta(new RespostaCadastradaEvento(10L, 1L, "Backend", true));
+            return List.of();
+        });
+
+        estatisticas.carregar();
+
+        assertThat(estatisticas.listar()).containsExactly(new DadosEstatisticosTopicos("Backend", 6, 1, 8));
+    }
+}
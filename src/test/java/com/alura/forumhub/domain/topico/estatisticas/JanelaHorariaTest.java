@@ -0,0 +1,76 @@
+package com.alura.forumhub.domain.topico.estatisticas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JanelaHorariaTest {
+
+    private static final long AGORA = 500_000;
+
+    @Test
+    @DisplayName("Soma só as horas dentro da janela")
+    void deveSomarApenasHorasDaJanela() {
+        var janela = new JanelaHoraria(3);
+
+        janela.registrar(AGORA, AGORA, 2);
+        janela.registrar(AGORA - 2, AGORA, 1);
+        janela.registrar(AGORA - 3, AGORA, 5);
+        janela.registrar(AGORA + 1, AGORA, 7);
+
+        assertThat(janela.somar(AGORA)).isEqualTo(3);
+        assertThat(janela.somar(AGORA + 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Slot reaproveitado por uma hora nova recomeça a contagem e ignora a hora antiga")
+    void deveReaproveitarSlotSemMisturarHoras() {
+        var janela = new JanelaHoraria(3);
+        janela.registrar(AGORA, AGORA, 4);
+
+        // AGORA + 3 cai no mesmo slot de AGORA
+        janela.registrar(AGORA + 3, AGORA + 3, 1);
+        // Evento atrasado da hora que o slot já deixou de representar
+        janela.registrar(AGORA, AGORA + 2, 10);
+
+        assertThat(janela.somar(AGORA + 3)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Decrementos não deixam a contagem negativa")
+    void naoDeveFicarNegativa() {
+        var janela = new JanelaHoraria(3);
+        janela.registrar(AGORA, AGORA, 1);
+        janela.registrar(AGORA, AGORA, -3);
+
+        assertThat(janela.somar(AGORA)).isZero();
+    }
+
+    @Test
+    @DisplayName("Incrementos concorrentes no mesmo slot não se perdem no CAS")
+    void naoDevePerderIncrementosConcorrentes() throws Exception {
+        var janela = new JanelaHoraria(24);
+        var threads = 8;
+        var porThread = 10_000;
+        var largada = new CountDownLatch(1);
+
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porThread; i++) {
+                        janela.registrar(AGORA - (i % 2), AGORA, 1);
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+        }
+
+        assertThat(janela.somar(AGORA)).isEqualTo((long) threads * porThread);
+    }
+}
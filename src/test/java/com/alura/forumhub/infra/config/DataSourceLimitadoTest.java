@@ -0,0 +1,39 @@
+package com.alura.forumhub.infra.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataSourceLimitadoTest {
+
+    private DataSourceLimitado criar(int maximo) {
+        var h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limitado;DB_CLOSE_DELAY=-1");
+        return new DataSourceLimitado(h2, maximo, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Bloqueia além do limite e libera a permissão no close")
+    void deveLimitarConexoesSimultaneas() throws Exception {
+        var dataSource = criar(1);
+
+        var primeira = dataSource.getConnection();
+        assertThat(dataSource.permissoesDisponiveis()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        primeira.close();
+        primeira.close();
+        assertThat(dataSource.permissoesDisponiveis()).isEqualTo(1);
+
+        try (var segunda = dataSource.getConnection()) {
+            assertThat(segunda.isValid(1)).isTrue();
+        }
+        assertThat(dataSource.permissoesDisponiveis()).isEqualTo(1);
+    }
+}
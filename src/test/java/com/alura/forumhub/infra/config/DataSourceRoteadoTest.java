@@ -0,0 +1,106 @@
+package com.alura.forumhub.infra.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourceRoteadoTest {
+
+    private DataSource primario;
+    private DataSource replica;
+    private MonitorReplicas monitor;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        primario = h2("rot-primario", "primario");
+        replica = h2("rot-replica", "replica");
+
+        var roteado = new DataSourceRoteado(primario, Map.of("replica-0", replica));
+        monitor = new MonitorReplicas(roteado, primario, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        var dataSource = new LazyConnectionDataSourceProxy(roteado);
+        jdbc = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ContextoRoteamento.limpar();
+        new JdbcTemplate(primario).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    private static DataSource h2(String nome, String origem) {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table origem (nome varchar(20))");
+        jdbc.update("insert into origem (nome) values (?)", origem);
+        jdbc.execute("create table replicacao_heartbeat (id tinyint primary key, atualizado_em bigint not null)");
+        jdbc.update("insert into replicacao_heartbeat (id, atualizado_em) values (1, 100000)");
+        return dataSource;
+    }
+
+    private String origem(boolean somenteLeitura) {
+        var transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> jdbc.queryForObject("select nome from origem", String.class));
+    }
+
+    @Test
+    void leiturasVaoParaReplicaEmDiaEEscritasParaOPrimario() {
+        monitor.verificar();
+
+        assertThat(origem(true)).isEqualTo("replica");
+        assertThat(origem(false)).isEqualTo("primario");
+        assertThat(jdbc.queryForObject("select nome from origem", String.class)).isEqualTo("primario");
+    }
+
+    @Test
+    void replicasComecamForaDoRodizio() {
+        assertThat(origem(true)).isEqualTo("primario");
+    }
+
+    @Test
+    void replicaAtrasadaSaiDoRodizioEVoltaQuandoAlcancaOPrimario() {
+        new JdbcTemplate(replica).update("update replicacao_heartbeat set atualizado_em = 90000");
+        monitor.verificar();
+        assertThat(origem(true)).isEqualTo("primario");
+
+        var heartbeat = new JdbcTemplate(primario).queryForObject(
+                "select atualizado_em from replicacao_heartbeat", Long.class);
+        new JdbcTemplate(replica).update("update replicacao_heartbeat set atualizado_em = ?", heartbeat);
+        monitor.verificar();
+        assertThat(origem(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaInacessivelSaiDoRodizio() {
+        monitor.verificar();
+        new JdbcTemplate(replica).execute("drop table replicacao_heartbeat");
+        monitor.verificar();
+
+        assertThat(origem(true)).isEqualTo("primario");
+    }
+
+    @Test
+    void leituraAposEscritaFicaNoPrimario() {
+        monitor.verificar();
+        ContextoRoteamento.exigirPrimario();
+
+        assertThat(origem(true)).isEqualTo("primario");
+    }
+}
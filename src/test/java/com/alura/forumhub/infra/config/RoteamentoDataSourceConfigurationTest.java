@@ -0,0 +1,60 @@
+package com.alura.forumhub.infra.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoteamentoDataSourceConfigurationTest {
+
+    private DataSourceRoteado roteado(MockEnvironment environment) throws Exception {
+        var properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:primario-config");
+        properties.setUsername("sa");
+        properties.afterPropertiesSet();
+
+        return new RoteamentoDataSourceConfiguration().dataSourceRoteado(
+                new DriverManagerDataSource("jdbc:h2:mem:primario-config", "sa", ""), properties,
+                List.of("jdbc:h2:mem:replica-config"), new SimpleMeterRegistry(), environment);
+    }
+
+    @Test
+    @DisplayName("Réplicas recebem spring.datasource.hikari.* e o limitador das threads virtuais")
+    void deveAplicarOpcoesDoHikariELimitadorNasReplicas() throws Exception {
+        var environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7")
+                .withProperty("spring.datasource.hikari.connection-timeout", "1500")
+                .withProperty("spring.threads.virtual.enabled", "true");
+
+        try (var roteado = roteado(environment)) {
+            var replica = roteado.replicas().get("replica-0");
+            assertThat(replica).isInstanceOf(DataSourceLimitado.class);
+
+            var limitado = (DataSourceLimitado) replica;
+            var hikari = (HikariDataSource) limitado.getTargetDataSource();
+            assertThat(hikari.getMaximumPoolSize()).isEqualTo(7);
+            assertThat(hikari.getConnectionTimeout()).isEqualTo(1500);
+            assertThat(hikari.isReadOnly()).isTrue();
+            assertThat(limitado.permissoesDisponiveis()).isEqualTo(7);
+        }
+    }
+
+    @Test
+    @DisplayName("Sem threads virtuais a réplica é o próprio pool do Hikari")
+    void naoDeveLimitarSemThreadsVirtuais() throws Exception {
+        var environment = new MockEnvironment().withProperty("spring.datasource.hikari.maximum-pool-size", "3");
+
+        try (var roteado = roteado(environment)) {
+            var replica = roteado.replicas().get("replica-0");
+            assertThat(replica).isInstanceOf(HikariDataSource.class);
+            assertThat(((HikariDataSource) replica).getMaximumPoolSize()).isEqualTo(3);
+        }
+    }
+}
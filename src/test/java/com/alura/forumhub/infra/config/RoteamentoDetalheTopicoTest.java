@@ -0,0 +1,72 @@
+package com.alura.forumhub.infra.config;
+
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.topico.DadosCadastroTopico;
+import com.alura.forumhub.domain.topico.Topico;
+import com.alura.forumhub.domain.topico.TopicoRepository;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.alura.forumhub.infra.metricas.FixturesTeste.prefixo;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarCurso;
+import static com.alura.forumhub.infra.metricas.FixturesTeste.salvarUsuario;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A réplica é um banco vazio: qualquer leitura roteada para ela falha. O monitor não chega a rodar de novo
+// durante o teste, então a réplica fica no rodízio enquanto o teste a mantiver marcada
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "forumhub.datasource.replicas.urls=jdbc:h2:mem:replica-detalhe;DB_CLOSE_DELAY=-1",
+        "forumhub.datasource.replicas.intervalo-verificacao=1h"
+})
+class RoteamentoDetalheTopicoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSourceRoteado dataSourceRoteado;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @AfterEach
+    void tearDown() {
+        dataSourceRoteado.marcar("replica-0", false);
+    }
+
+    @Test
+    @DisplayName("GET /topicos/{id} sem cache lê do primário mesmo com réplica no rodízio")
+    void detalheQueVaiParaOCacheVemDoPrimario() throws Exception {
+        var prefixo = prefixo("replica");
+        var autor = salvarUsuario(usuarioRepository, "Autor", prefixo);
+        var curso = salvarCurso(cursoRepository, prefixo);
+        var topico = topicoRepository.save(new Topico(
+                new DadosCadastroTopico("Tópico " + prefixo, "Mensagem", autor.getId(), curso.getId()), autor, curso));
+
+        dataSourceRoteado.marcar("replica-0", true);
+
+        mockMvc.perform(get("/topicos/{id}", topico.getId()).with(user(autor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titulo").value(topico.getTitulo()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.alura.forumhub.infra.metricas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Apoio para os testes: conta os comandos SQL que o Hibernate prepara durante uma ação
+// (uma chamada MockMvc, por exemplo), usando o mesmo ContadorSql das métricas de produção.
+public final class ContagemSql {
+
+    @FunctionalInterface
+    public interface Acao {
+        void executar() throws Exception;
+    }
+
+    private ContagemSql() {
+    }
+
+    public static int contar(Acao acao) throws Exception {
+        int comandos;
+        ContadorSql.iniciar();
+        try {
+            acao.executar();
+        } finally {
+            comandos = ContadorSql.encerrar();
+        }
+        return comandos;
+    }
+
+    public static void assertQueryCount(int esperado, Acao acao) throws Exception {
+        assertThat(contar(acao))
+                .as("comandos SQL executados")
+                .isEqualTo(esperado);
+    }
+
+    public static void assertQueryCountAtMost(int maximo, Acao acao) throws Exception {
+        assertThat(contar(acao))
+                .as("comandos SQL executados")
+                .isLessThanOrEqualTo(maximo);
+    }
+}
@@ -0,0 +1,35 @@
+package com.alura.forumhub.infra.metricas;
+
+import com.alura.forumhub.domain.curso.Curso;
+import com.alura.forumhub.domain.curso.CursoRepository;
+import com.alura.forumhub.domain.usuario.Usuario;
+import com.alura.forumhub.domain.usuario.UsuarioRepository;
+
+// Apoio para os testes: o contexto do Spring e o banco H2 são compartilhados entre as classes de teste,
+// então cada uma cria autor e curso com um prefixo próprio para não colidir em e-mail e nome únicos.
+public final class FixturesTeste {
+
+    private FixturesTeste() {
+    }
+
+    public static String prefixo(String base) {
+        return base + System.nanoTime();
+    }
+
+    // Não salva: serve para quem grava em lote (saveAll) ou dentro de uma transação própria
+    public static Usuario novoUsuario(String nome, String prefixo) {
+        var usuario = new Usuario();
+        usuario.setNome(nome);
+        usuario.setEmail(prefixo + "@forumhub.com");
+        usuario.setSenha("senha");
+        return usuario;
+    }
+
+    public static Usuario salvarUsuario(UsuarioRepository repository, String nome, String prefixo) {
+        return repository.save(novoUsuario(nome, prefixo));
+    }
+
+    public static Curso salvarCurso(CursoRepository repository, String prefixo) {
+        return repository.save(Curso.builder().nome("Curso " + prefixo).categoria("Backend").build());
+    }
+}
@@ -0,0 +1,98 @@
+package com.alura.forumhub.infra.security;
+
+import com.alura.forumhub.domain.importacao.Importacao;
+import com.alura.forumhub.domain.importacao.ImportacaoRepository;
+import com.alura.forumhub.domain.perfil.Perfil;
+import com.alura.forumhub.domain.usuario.Usuario;
+import com.alura.forumhub.infra.metricas.FixturesTeste;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.alura.forumhub.infra.metricas.FixturesTeste.prefixo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Passa pelo SecurityFilter com JWT de verdade: os papéis vêm dos perfis carregados por findByEmail
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AutorizacaoAdminTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ImportacaoRepository importacaoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long importacaoId;
+
+    @BeforeEach
+    void setUp() {
+        importacaoId = importacaoRepository.save(new Importacao()).getId();
+    }
+
+    private Usuario novoUsuario(String perfil) {
+        var prefixo = prefixo("adm");
+        return transactionTemplate.execute(status -> {
+            var usuario = FixturesTeste.novoUsuario("Usuário " + prefixo, prefixo);
+            if (perfil != null) {
+                var entidade = Perfil.builder().nome(perfil).build();
+                entityManager.persist(entidade);
+                usuario.setPerfis(List.of(entidade));
+            }
+            entityManager.persist(usuario);
+            return usuario;
+        });
+    }
+
+    @Test
+    @DisplayName("Perfil admin vira ROLE_ADMIN e acessa /admin/**")
+    void adminAcessaRotasAdministrativas() throws Exception {
+        var token = tokenService.gerarToken(novoUsuario("admin"));
+
+        mockMvc.perform(get("/admin/import/{id}", importacaoId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Usuário sem perfil admin recebe 403 em /admin/**")
+    void usuarioComumNaoAcessaRotasAdministrativas() throws Exception {
+        var semPerfil = tokenService.gerarToken(novoUsuario(null));
+        var outroPerfil = tokenService.gerarToken(novoUsuario("moderador"));
+
+        mockMvc.perform(get("/admin/import/{id}", importacaoId).header("Authorization", "Bearer " + semPerfil))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/import/{id}", importacaoId).header("Authorization", "Bearer " + outroPerfil))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Na porta da API, /actuator/prometheus não é público nem liberado a usuário comum")
+    void prometheusNaoFicaAbertoNaPortaDaApi() throws Exception {
+        var usuarioComum = tokenService.gerarToken(novoUsuario(null));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + usuarioComum))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,51 @@
+package com.alura.forumhub.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaldesDeTokensTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void deveConsumirAteACapacidadeERecusarDepois() {
+        var baldes = new BaldesDeTokens(4);
+
+        for (int i = 2; i >= 0; i--) {
+            var consumo = baldes.consumir("a", 3, Duration.ofSeconds(3), 0);
+            assertThat(consumo.permitido()).isTrue();
+            assertThat(consumo.restantes()).isEqualTo(i);
+        }
+
+        var recusado = baldes.consumir("a", 3, Duration.ofSeconds(3), 0);
+        assertThat(recusado.permitido()).isFalse();
+        assertThat(recusado.segundosParaEsperar()).isEqualTo(1);
+        assertThat(baldes.consumir("b", 3, Duration.ofSeconds(3), 0).permitido()).isTrue();
+    }
+
+    @Test
+    void deveReporTokensProporcionalmenteAoTempo() {
+        var baldes = new BaldesDeTokens(4);
+        for (int i = 0; i < 3; i++) {
+            baldes.consumir("a", 3, Duration.ofSeconds(3), 0);
+        }
+
+        assertThat(baldes.consumir("a", 3, Duration.ofSeconds(3), SEGUNDO / 2).permitido()).isFalse();
+        assertThat(baldes.consumir("a", 3, Duration.ofSeconds(3), SEGUNDO + SEGUNDO / 2).permitido()).isTrue();
+        assertThat(baldes.consumir("a", 3, Duration.ofSeconds(3), SEGUNDO + SEGUNDO / 2).permitido()).isFalse();
+    }
+
+    @Test
+    void deveDescartarSomenteBaldesQueJaEncheram() {
+        var baldes = new BaldesDeTokens(4);
+        baldes.consumir("antigo", 10, Duration.ofSeconds(10), 0);
+        baldes.consumir("recente", 10, Duration.ofSeconds(10), 9 * SEGUNDO + SEGUNDO / 2);
+
+        assertThat(baldes.removerOciosos(10 * SEGUNDO)).isEqualTo(1);
+        assertThat(baldes.tamanho()).isEqualTo(1);
+    }
+}
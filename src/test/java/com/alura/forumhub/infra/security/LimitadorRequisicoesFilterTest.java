@@ -0,0 +1,77 @@
+package com.alura.forumhub.infra.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimitadorRequisicoesFilterTest {
+
+    private LimitadorRequisicoesFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        var environment = new MockEnvironment()
+                .withProperty("forumhub.limite.rotas[0].metodo", "POST")
+                .withProperty("forumhub.limite.rotas[0].padrao", "/login")
+                .withProperty("forumhub.limite.rotas[0].capacidade", "1")
+                .withProperty("forumhub.limite.rotas[0].periodo", "1m");
+
+        filtro = new LimitadorRequisicoesFilter();
+        ReflectionTestUtils.setField(filtro, "environment", environment);
+        ReflectionTestUtils.setField(filtro, "habilitado", true);
+        ReflectionTestUtils.setField(filtro, "capacidadePadrao", 2L);
+        ReflectionTestUtils.setField(filtro, "periodoPadrao", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(filtro, "listras", 4);
+        filtro.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse executar(String metodo, String uri, String ip) throws Exception {
+        var request = new MockHttpServletRequest(metodo, uri);
+        request.setRemoteAddr(ip);
+        var response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void deveRecusarComRetryAfterQuandoOBaldeDaRotaEsvazia() throws Exception {
+        var primeira = executar("POST", "/login", "10.0.0.1");
+        assertThat(primeira.getStatus()).isEqualTo(200);
+        assertThat(primeira.getHeader("RateLimit-Limit")).isEqualTo("1");
+        assertThat(primeira.getHeader("RateLimit-Remaining")).isEqualTo("0");
+
+        var segunda = executar("POST", "/login", "10.0.0.1");
+        assertThat(segunda.getStatus()).isEqualTo(429);
+        assertThat(segunda.getHeader("Retry-After")).isEqualTo("60");
+
+        assertThat(executar("POST", "/login", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(executar("GET", "/topicos", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void deveUsarOSubjectDoTokenComoChaveDoCliente() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "ana@forumhub.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        assertThat(executar("GET", "/topicos", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(executar("GET", "/topicos", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(executar("GET", "/topicos", "10.0.0.3").getStatus()).isEqualTo(429);
+    }
+}
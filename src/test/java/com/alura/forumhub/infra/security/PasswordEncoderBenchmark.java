@@ -0,0 +1,38 @@
+package com.alura.forumhub.infra.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    @Param({"4", "10", "12"})
+    public int custo;
+
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(custo);
+        hash = passwordEncoder.encode("senha-benchmark");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("senha-benchmark");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("senha-benchmark", hash);
+    }
+}
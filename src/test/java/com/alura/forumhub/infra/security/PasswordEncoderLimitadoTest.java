@@ -0,0 +1,70 @@
+package com.alura.forumhub.infra.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncoderLimitadoTest {
+
+    @Test
+    void deveRejeitarQuandoPoolEFilaEstaoCheios() throws Exception {
+        var iniciou = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        PasswordEncoder lento = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                iniciou.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+
+        try (var encoder = new PasswordEncoderLimitado(lento, 10, 1, 1, Duration.ofSeconds(2));
+             var clientes = Executors.newFixedThreadPool(2)) {
+            var emExecucao = clientes.submit(() -> encoder.encode("a"));
+            iniciou.await(5, TimeUnit.SECONDS);
+            var naFila = clientes.submit(() -> encoder.encode("b"));
+            while (encoder.executor().getQueue().isEmpty()) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.encode("c"))
+                    .isInstanceOf(HashSenhaSobrecarregadoException.class)
+                    .extracting(e -> ((HashSenhaSobrecarregadoException) e).getRetryAfter())
+                    .isEqualTo(Duration.ofSeconds(2));
+
+            liberar.countDown();
+            assertThat(emExecucao.get()).isEqualTo("hash");
+            assertThat(naFila.get()).isEqualTo("hash");
+        }
+    }
+
+    @Test
+    void deveRegravarHashesComCustoDiferenteDoConfigurado() {
+        try (var encoder = new PasswordEncoderLimitado(new BCryptPasswordEncoder(5), 5, 1, 4, Duration.ofSeconds(1))) {
+            var atual = encoder.encode("senha");
+
+            assertThat(encoder.matches("senha", atual)).isTrue();
+            assertThat(encoder.upgradeEncoding(atual)).isFalse();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("senha"))).isTrue();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("senha"))).isTrue();
+        }
+    }
+}
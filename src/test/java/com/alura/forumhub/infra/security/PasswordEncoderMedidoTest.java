@@ -0,0 +1,23 @@
+package com.alura.forumhub.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncoderMedidoTest {
+
+    @Test
+    void deveMedirCodificacaoEVerificacaoSemAlterarOResultado() {
+        var registry = new SimpleMeterRegistry();
+        var encoder = new PasswordEncoderMedido(new BCryptPasswordEncoder(4), registry);
+
+        var hash = encoder.encode("senha");
+
+        assertThat(encoder.matches("senha", hash)).isTrue();
+        assertThat(encoder.matches("outra", hash)).isFalse();
+        assertThat(registry.get("forumhub.senha.hash").tag("operacao", "codificar").timer().count()).isEqualTo(1);
+        assertThat(registry.get("forumhub.senha.hash").tag("operacao", "verificar").timer().count()).isEqualTo(2);
+    }
+}
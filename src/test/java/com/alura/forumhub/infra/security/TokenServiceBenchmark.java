@@ -0,0 +1,59 @@
+package com.alura.forumhub.infra.security;
+
+import com.alura.forumhub.domain.usuario.Usuario;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// getSubject compara a verificação completa do JWT (cache desligado) com o caminho em cache
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheHabilitado;
+
+    private TokenService tokenService;
+
+    private Usuario usuario;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "benchmark-secret");
+        ReflectionTestUtils.setField(tokenService, "cacheHabilitado", cacheHabilitado);
+        ReflectionTestUtils.setField(tokenService, "tamanhoMaximoCache", 10_000L);
+        tokenService.inicializar();
+
+        usuario = new Usuario();
+        usuario.setEmail("benchmark@forumhub.com");
+        token = tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return tokenService.getSubject(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenServiceBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}